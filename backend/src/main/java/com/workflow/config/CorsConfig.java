@@ -21,7 +21,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*")
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Authorization", "Content-Disposition")
+                .exposedHeaders("Authorization", "Content-Disposition", "X-Next-Cursor")
                 .allowCredentials(false)  // Set to false to allow wildcard origins
                 .maxAge(3600);
     }
@@ -34,7 +34,7 @@ public class CorsConfig implements WebMvcConfigurer {
         configuration.setAllowedOriginPatterns(Collections.singletonList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Disposition"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Disposition", "X-Next-Cursor"));
         configuration.setAllowCredentials(false);  // Must be false when using wildcard origins
         configuration.setMaxAge(3600L);
         
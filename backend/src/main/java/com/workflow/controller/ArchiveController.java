@@ -0,0 +1,64 @@
+package com.workflow.controller;
+
+import com.workflow.dto.ExecutionLogDTO;
+import com.workflow.exception.WorkflowException;
+import com.workflow.service.LogArchive;
+import com.workflow.service.LogRetentionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/archive")
+@Tag(name = "Archive", description = "Archived execution logs")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class ArchiveController {
+
+    @Autowired
+    private LogArchive logArchive;
+
+    @Autowired
+    private LogRetentionService logRetentionService;
+
+    @Value("${workflow.api.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${workflow.api.page.max-size:500}")
+    private int maxPageSize;
+
+    @GetMapping("/logs/segments")
+    @Operation(summary = "List archived execution log segments")
+    public ResponseEntity<List<Map<String, Object>>> getSegments() {
+        return ResponseEntity.ok(logArchive.listSegments());
+    }
+
+    @GetMapping("/logs")
+    @Operation(summary = "Search archived execution logs of one day")
+    public ResponseEntity<List<ExecutionLogDTO>> getLogs(@RequestParam String day,
+                                                         @RequestParam(required = false) Long workflowId,
+                                                         @RequestParam(required = false) String executionId,
+                                                         @RequestParam(required = false) Integer limit) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(day);
+        } catch (DateTimeParseException e) {
+            throw new WorkflowException("Invalid day '" + day + "', expected YYYY-MM-DD");
+        }
+        int size = limit != null && limit > 0 ? Math.min(limit, maxPageSize) : defaultPageSize;
+        return ResponseEntity.ok(logArchive.query(date, workflowId, executionId, size));
+    }
+
+    @PostMapping("/logs/retention")
+    @Operation(summary = "Archive and remove expired execution logs now")
+    public ResponseEntity<Map<String, Object>> runRetention() {
+        return ResponseEntity.ok(logRetentionService.run());
+    }
+}
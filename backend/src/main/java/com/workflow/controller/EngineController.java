@@ -0,0 +1,33 @@
+package com.workflow.controller;
+
+import com.workflow.engine.NodeResultCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/engine")
+@Tag(name = "Engine", description = "Workflow engine diagnostics")
+@CrossOrigin(origins = "*", allowedHeaders = "*", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS})
+public class EngineController {
+
+    @Autowired
+    private NodeResultCache nodeResultCache;
+
+    @GetMapping("/cache")
+    @Operation(summary = "Get node result cache statistics")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(nodeResultCache.getStats());
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "Clear the node result cache")
+    public ResponseEntity<Void> clearCache() {
+        nodeResultCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,18 @@
 package com.workflow.controller;
 
+import com.workflow.dto.ApprovalRequest;
+import com.workflow.dto.CursorPage;
+import com.workflow.dto.ExecutionStatusDTO;
 import com.workflow.dto.TaskDTO;
 import com.workflow.service.TaskExecutionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,9 +25,22 @@ public class TaskController {
     private TaskExecutionService taskExecutionService;
 
     @GetMapping
-    @Operation(summary = "Get all tasks")
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        return ResponseEntity.ok(taskExecutionService.getAllTasks());
+    @Operation(summary = "List tasks one page at a time; the next page's cursor is returned in X-Next-Cursor")
+    public ResponseEntity<List<TaskDTO>> getAllTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long workflowId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "desc") String sort) {
+        CursorPage<TaskDTO> page = taskExecutionService.getTasks(status, workflowId, from, to, cursor, limit,
+                "asc".equalsIgnoreCase(sort));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/{id}")
@@ -50,4 +68,18 @@ public class TaskController {
         taskExecutionService.cancelTask(id);
         return ResponseEntity.ok("Task cancelled");
     }
+
+    @PostMapping("/{id}/approve")
+    @Operation(summary = "Approve a waiting task and resume its execution")
+    public ResponseEntity<ExecutionStatusDTO> approveTask(@PathVariable Long id,
+                                                          @RequestBody(required = false) ApprovalRequest request) {
+        return ResponseEntity.accepted().body(taskExecutionService.approveTask(id, request));
+    }
+
+    @PostMapping("/{id}/reject")
+    @Operation(summary = "Reject a waiting task and resume its execution")
+    public ResponseEntity<ExecutionStatusDTO> rejectTask(@PathVariable Long id,
+                                                         @RequestBody(required = false) ApprovalRequest request) {
+        return ResponseEntity.accepted().body(taskExecutionService.rejectTask(id, request));
+    }
 }
@@ -1,12 +1,19 @@
 package com.workflow.controller;
 
+import com.workflow.dto.BatchTriggerResultDTO;
+import com.workflow.dto.ExecutionStatusDTO;
+import com.workflow.engine.ExecutionRecord;
+import com.workflow.exception.ExecutionRejectedException;
 import com.workflow.service.WorkflowService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.Map;
 
 @RestController
@@ -22,15 +29,22 @@ public class WebhookController {
     @Operation(summary = "Webhook endpoint for n8n to trigger workflows")
     public ResponseEntity<Map<String, Object>> n8nTrigger(
             @PathVariable Long workflowId,
-            @RequestBody(required = false) Map<String, Object> payload) {
+            @RequestBody(required = false) Map<String, Object> payload,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
         try {
-            workflowService.executeWorkflowWithPayload(workflowId, payload);
+            ExecutionStatusDTO execution = workflowService.triggerFromWebhook(workflowId, payload, idempotencyKey);
+            if (isPending(execution)) {
+                return accepted(workflowId, execution);
+            }
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Workflow triggered successfully",
-                "workflowId", workflowId
+                "workflowId", workflowId,
+                "executionId", execution.getExecutionId()
             ));
+        } catch (ExecutionRejectedException e) {
+            throw e; // Answered with 429/503 and Retry-After so the sender backs off
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "success", false,
@@ -45,16 +59,23 @@ public class WebhookController {
     public ResponseEntity<Map<String, Object>> genericTrigger(
             @PathVariable Long workflowId,
             @RequestBody(required = false) Map<String, Object> payload,
-            @RequestParam(required = false) String source) {
+            @RequestParam(required = false) String source,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
         try {
-            workflowService.executeWorkflowWithPayload(workflowId, payload);
+            ExecutionStatusDTO execution = workflowService.triggerFromWebhook(workflowId, payload, idempotencyKey);
+            if (isPending(execution)) {
+                return accepted(workflowId, execution);
+            }
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Workflow triggered successfully from " + (source != null ? source : "unknown source"),
                 "workflowId", workflowId,
+                "executionId", execution.getExecutionId(),
                 "timestamp", System.currentTimeMillis()
             ));
+        } catch (ExecutionRejectedException e) {
+            throw e; // Answered with 429/503 and Retry-After so the sender backs off
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                 "success", false,
@@ -65,6 +86,15 @@ public class WebhookController {
         }
     }
 
+    @PostMapping(value = "/batch/trigger/{workflowId}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    @Operation(summary = "Trigger a workflow once per item of a JSON array or NDJSON stream")
+    public ResponseEntity<BatchTriggerResultDTO> batchTrigger(
+            @PathVariable Long workflowId,
+            HttpServletRequest request) throws IOException {
+        
+        return ResponseEntity.accepted().body(workflowService.triggerBatch(workflowId, request.getInputStream()));
+    }
+
     @GetMapping("/status")
     @Operation(summary = "Check webhook service status")
     public ResponseEntity<Map<String, Object>> getStatus() {
@@ -74,4 +104,22 @@ public class WebhookController {
             "timestamp", System.currentTimeMillis()
         ));
     }
+
+    // Buffered triggers, and sync ones that outlasted the sync timeout
+    private boolean isPending(ExecutionStatusDTO execution) {
+        return ExecutionRecord.QUEUED.equals(execution.getStatus())
+                || ExecutionRecord.RUNNING.equals(execution.getStatus());
+    }
+
+    // Pending triggers are answered before they settle; the ticket is the execution ID
+    private ResponseEntity<Map<String, Object>> accepted(Long workflowId, ExecutionStatusDTO execution) {
+        return ResponseEntity.accepted().body(Map.of(
+            "success", true,
+            "message", "Workflow trigger accepted",
+            "workflowId", workflowId,
+            "ticketId", execution.getExecutionId(),
+            "statusUrl", "/api/workflows/executions/" + execution.getExecutionId(),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
 }
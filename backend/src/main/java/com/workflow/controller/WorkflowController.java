@@ -13,14 +13,23 @@
  */
 package com.workflow.controller;
 
+import com.workflow.dto.CursorPage;
+import com.workflow.dto.ExecutionLogDTO;
+import com.workflow.dto.ExecutionStatusDTO;
 import com.workflow.dto.WorkflowDTO;
+import com.workflow.service.ExportService;
 import com.workflow.service.WorkflowService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -32,10 +41,25 @@ public class WorkflowController {
     @Autowired
     private WorkflowService workflowService;
 
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping
-    @Operation(summary = "Get all workflows")
-    public ResponseEntity<List<WorkflowDTO>> getAllWorkflows() {
-        return ResponseEntity.ok(workflowService.getAllWorkflows());
+    @Operation(summary = "List workflows one page at a time; the next page's cursor is returned in X-Next-Cursor")
+    public ResponseEntity<List<WorkflowDTO>> getAllWorkflows(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "desc") String sort) {
+        CursorPage<WorkflowDTO> page = workflowService.getWorkflows(active, from, to, cursor, limit,
+                "asc".equalsIgnoreCase(sort));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/{id}")
@@ -64,10 +88,51 @@ public class WorkflowController {
     }
 
     @PostMapping("/{id}/execute")
-    @Operation(summary = "Execute workflow")
-    public ResponseEntity<String> executeWorkflow(@PathVariable Long id) {
-        workflowService.executeWorkflow(id);
-        return ResponseEntity.ok("Workflow execution started");
+    @Operation(summary = "Execute workflow asynchronously")
+    public ResponseEntity<ExecutionStatusDTO> executeWorkflow(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(workflowService.executeWorkflow(id));
+    }
+
+    @GetMapping("/executions/{executionId}")
+    @Operation(summary = "Get workflow execution status")
+    public ResponseEntity<ExecutionStatusDTO> getExecutionStatus(@PathVariable String executionId) {
+        return ResponseEntity.ok(workflowService.getExecutionStatus(executionId));
+    }
+
+    @GetMapping("/executions/{executionId}/logs")
+    @Operation(summary = "List the log entries of an execution without their message and data")
+    public ResponseEntity<List<ExecutionLogDTO>> getExecutionLogs(@PathVariable String executionId) {
+        return ResponseEntity.ok(workflowService.getExecutionLogs(executionId));
+    }
+
+    @GetMapping("/logs/{logId}")
+    @Operation(summary = "Get one execution log entry with its message and data")
+    public ResponseEntity<ExecutionLogDTO> getExecutionLog(@PathVariable Long logId) {
+        return ResponseEntity.ok(workflowService.getExecutionLog(logId));
+    }
+
+    @GetMapping("/{id}/export/logs")
+    @Operation(summary = "Stream all execution logs of a workflow as NDJSON, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportLogs(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "false") boolean gzip) {
+        exportService.requireWorkflow(id);
+        return export("workflow-" + id + "-logs", gzip, out -> exportService.exportLogs(id, out, gzip));
+    }
+
+    @GetMapping("/{id}/export/tasks")
+    @Operation(summary = "Stream all tasks of a workflow as NDJSON, optionally gzipped")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@PathVariable Long id,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        exportService.requireWorkflow(id);
+        return export("workflow-" + id + "-tasks", gzip, out -> exportService.exportTasks(id, out, gzip));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, boolean gzip, StreamingResponseBody body) {
+        String filename = name + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
     }
 
     @PostMapping("/{id}/activate")
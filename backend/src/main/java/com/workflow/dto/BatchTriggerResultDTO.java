@@ -0,0 +1,76 @@
+package com.workflow.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BatchTriggerResultDTO {
+
+    private Long workflowId;
+    private int accepted;
+    private int rejected;
+    // One entry per item in request order; null where the item was rejected
+    private List<String> tickets = new ArrayList<>();
+    // Item index to rejection reason
+    private Map<Integer, String> errors = new LinkedHashMap<>();
+
+    // Constructors
+    public BatchTriggerResultDTO() {}
+
+    public BatchTriggerResultDTO(Long workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public void addTicket(String ticket) {
+        tickets.add(ticket);
+        accepted++;
+    }
+
+    public void addError(String error) {
+        errors.put(tickets.size(), error);
+        tickets.add(null);
+        rejected++;
+    }
+
+    // Getters and Setters
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+
+    public void setWorkflowId(Long workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<String> getTickets() {
+        return tickets;
+    }
+
+    public void setTickets(List<String> tickets) {
+        this.tickets = tickets;
+    }
+
+    public Map<Integer, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<Integer, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,58 @@
+package com.workflow.engine;
+
+import com.workflow.engine.expression.Expression;
+
+import java.util.Collections;
+import java.util.Set;
+
+public class CompiledEdge {
+
+    private final CompiledNode source;
+    private final String condition;
+    private final Expression compiledCondition;
+    private final CompiledNode target;
+    private boolean backEdge;
+    private Set<String> loopBody = Collections.emptySet();
+
+    public CompiledEdge(CompiledNode source, String condition, Expression compiledCondition, CompiledNode target) {
+        this.source = source;
+        this.condition = condition;
+        this.compiledCondition = compiledCondition;
+        this.target = target;
+    }
+
+    void markBackEdge(Set<String> loopBody) {
+        this.backEdge = true;
+        this.loopBody = Collections.unmodifiableSet(loopBody);
+    }
+
+    public CompiledNode getSource() {
+        return source;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public Expression getCompiledCondition() {
+        return compiledCondition;
+    }
+
+    public CompiledNode getTarget() {
+        return target;
+    }
+
+    /**
+     * True when this edge closes a cycle, i.e. it jumps back to a loop header.
+     */
+    public boolean isBackEdge() {
+        return backEdge;
+    }
+
+    /**
+     * Node IDs of the loop closed by this back edge, including its header.
+     */
+    public Set<String> getLoopBody() {
+        return loopBody;
+    }
+}
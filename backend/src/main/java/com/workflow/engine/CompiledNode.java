@@ -0,0 +1,194 @@
+package com.workflow.engine;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.model.WorkflowNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class CompiledNode {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d+)\\s*(ms|s|m|h|d)?");
+
+    private final WorkflowNode node;
+    private final String nodeId;
+    private final String type;
+    private final Map<String, Object> config;
+    private final RetryPolicy retryPolicy;
+    private final String cacheScope;
+    private final List<CompiledEdge> outgoing = new ArrayList<>();
+    private final List<CompiledEdge> outgoingView = Collections.unmodifiableList(outgoing);
+    private final List<String> incomingSources = new ArrayList<>();
+    private final List<String> incomingSourcesView = Collections.unmodifiableList(incomingSources);
+
+    public CompiledNode(WorkflowNode node) {
+        this.node = node;
+        this.nodeId = node.getNodeId();
+        // Node types come from a small fixed vocabulary, so share one instance per type
+        this.type = node.getType() != null ? node.getType().intern() : null;
+        this.config = parseConfiguration(node.getConfiguration());
+        this.retryPolicy = RetryPolicy.fromConfig(config.get("retry"));
+        this.cacheScope = isTrue(config.get("cacheable")) ? buildCacheScope(node) : null;
+    }
+
+    private static Map<String, Object> parseConfiguration(String configuration) {
+        if (configuration == null || configuration.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(configuration, new TypeReference<Map<String, Object>>() {});
+            return parsed != null ? Collections.unmodifiableMap(parsed) : Collections.emptyMap();
+        } catch (Exception e) {
+            // Free-form configurations are still passed through to the task as-is
+            return Collections.emptyMap();
+        }
+    }
+
+    private static boolean isTrue(Object value) {
+        return Boolean.TRUE.equals(value) || "true".equals(value);
+    }
+
+    // Results of a cacheable node are only reused for the same node with the same configuration
+    private static String buildCacheScope(WorkflowNode node) {
+        Long workflowId = node.getWorkflow() != null ? node.getWorkflow().getId() : null;
+        String configuration = node.getConfiguration() != null ? node.getConfiguration() : "";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(configuration.getBytes(StandardCharsets.UTF_8));
+            return workflowId + "/" + node.getNodeId() + "/" + HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            return workflowId + "/" + node.getNodeId() + "/" + configuration.hashCode();
+        }
+    }
+
+    void addOutgoing(CompiledEdge edge) {
+        outgoing.add(edge);
+    }
+
+    void addIncoming(String sourceNodeId) {
+        incomingSources.add(sourceNodeId);
+    }
+
+    public WorkflowNode getNode() {
+        return node;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Node configuration parsed once from its JSON text; empty when it is not a JSON object.
+     */
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+
+    public int getIntConfig(String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String) {
+            try {
+                return Integer.parseInt(((String) value).trim());
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Reads a duration such as {@code "500ms"}, {@code "30s"}, {@code "5m"}, {@code "24h"}
+     * or {@code "2d"}. Bare numbers are taken in {@code bareUnit}. Returns null when the
+     * key is absent or the value cannot be read.
+     */
+    public Duration getDurationConfig(String key, ChronoUnit bareUnit) {
+        return parseDuration(config.get(key), bareUnit);
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Whether the node is marked {@code "cacheable": true}, i.e. its output depends
+     * only on its configuration and input.
+     */
+    public boolean isCacheable() {
+        return cacheScope != null;
+    }
+
+    /**
+     * Workflow, node and configuration hash identifying this node in the result cache.
+     */
+    public String getCacheScope() {
+        return cacheScope;
+    }
+
+    static Duration parseDuration(Object value, ChronoUnit bareUnit) {
+        if (value instanceof Number) {
+            return Duration.of(((Number) value).longValue(), bareUnit);
+        }
+        if (!(value instanceof String)) {
+            return null;
+        }
+
+        Matcher matcher = DURATION_PATTERN.matcher(((String) value).trim().toLowerCase());
+        if (!matcher.matches()) {
+            return null;
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        String unit = matcher.group(2);
+        if (unit == null) {
+            return Duration.of(amount, bareUnit);
+        }
+        switch (unit) {
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                return Duration.of(amount, bareUnit);
+        }
+    }
+
+    public List<CompiledEdge> getOutgoing() {
+        return outgoingView;
+    }
+
+    public List<String> getIncomingSources() {
+        return incomingSourcesView;
+    }
+
+    public int getIncomingCount() {
+        return incomingSources.size();
+    }
+
+    public boolean isJoin() {
+        return incomingSources.size() > 1;
+    }
+}
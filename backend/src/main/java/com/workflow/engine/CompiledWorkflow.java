@@ -0,0 +1,224 @@
+package com.workflow.engine;
+
+import com.workflow.model.Workflow;
+import com.workflow.model.WorkflowEdge;
+import com.workflow.model.WorkflowNode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, traversal-ready form of a workflow definition. Nodes are indexed by
+ * node ID with their outgoing edges already resolved, so the engine never scans
+ * the JPA node and edge collections while executing. Edges that close a cycle are
+ * marked as back edges and do not count towards join inputs, and neither do edges
+ * from nodes a run cannot reach from the trigger it started at.
+ */
+public class CompiledWorkflow {
+
+    private final Workflow workflow;
+    private final Long workflowId;
+    private final LocalDateTime updatedAt;
+    private final Map<String, CompiledNode> nodes;
+    private final CompiledNode startNode;
+    private final boolean cyclic;
+    // Start node ID to the IDs of every node reachable from it, computed on first use
+    private final Map<String, Set<String>> reachable = new ConcurrentHashMap<>();
+
+    private CompiledWorkflow(Workflow workflow, Map<String, CompiledNode> nodes, CompiledNode startNode, boolean cyclic) {
+        this.workflow = workflow;
+        this.workflowId = workflow.getId();
+        this.updatedAt = workflow.getUpdatedAt();
+        this.nodes = Collections.unmodifiableMap(nodes);
+        this.startNode = startNode;
+        this.cyclic = cyclic;
+    }
+
+    public static CompiledWorkflow compile(Workflow workflow, ConditionEvaluator conditionEvaluator) {
+        Map<String, CompiledNode> nodes = new LinkedHashMap<>();
+        CompiledNode startNode = null;
+
+        if (workflow.getNodes() != null) {
+            for (WorkflowNode node : workflow.getNodes()) {
+                CompiledNode compiled = new CompiledNode(node);
+                nodes.putIfAbsent(compiled.getNodeId(), compiled);
+                if (startNode == null && "trigger".equals(compiled.getType())) {
+                    startNode = compiled;
+                }
+            }
+        }
+
+        List<CompiledEdge> edges = new ArrayList<>();
+        if (workflow.getEdges() != null) {
+            for (WorkflowEdge edge : workflow.getEdges()) {
+                CompiledNode source = nodes.get(edge.getSourceNodeId());
+                CompiledNode target = nodes.get(edge.getTargetNodeId());
+                // Edges pointing at unknown nodes are ignored, as they were during traversal
+                if (source != null && target != null) {
+                    String condition = edge.getCondition();
+                    boolean conditional = condition != null && !condition.trim().isEmpty();
+                    CompiledEdge compiled = new CompiledEdge(source, condition,
+                            conditional ? conditionEvaluator.compile(condition) : null, target);
+                    source.addOutgoing(compiled);
+                    edges.add(compiled);
+                }
+            }
+        }
+
+        boolean cyclic = markBackEdges(nodes, startNode, edges);
+
+        for (CompiledEdge edge : edges) {
+            if (!edge.isBackEdge()) {
+                edge.getTarget().addIncoming(edge.getSource().getNodeId());
+            }
+        }
+
+        return new CompiledWorkflow(workflow, nodes, startNode, cyclic);
+    }
+
+    /**
+     * Iterative depth-first search from the start node (then from any node it does
+     * not reach) marking every edge into a node still on the DFS path as a back edge.
+     */
+    private static boolean markBackEdges(Map<String, CompiledNode> nodes, CompiledNode startNode,
+                                         List<CompiledEdge> edges) {
+        Set<String> finished = new HashSet<>();
+        Set<String> onPath = new HashSet<>();
+        boolean cyclic = false;
+
+        List<CompiledNode> roots = new ArrayList<>();
+        if (startNode != null) {
+            roots.add(startNode);
+        }
+        roots.addAll(nodes.values());
+
+        for (CompiledNode root : roots) {
+            if (finished.contains(root.getNodeId())) {
+                continue;
+            }
+
+            Deque<Iterator<CompiledEdge>> stack = new ArrayDeque<>();
+            Deque<CompiledNode> path = new ArrayDeque<>();
+            onPath.add(root.getNodeId());
+            path.push(root);
+            stack.push(root.getOutgoing().iterator());
+
+            while (!stack.isEmpty()) {
+                Iterator<CompiledEdge> iterator = stack.peek();
+                if (iterator.hasNext()) {
+                    CompiledEdge edge = iterator.next();
+                    String targetId = edge.getTarget().getNodeId();
+                    if (onPath.contains(targetId)) {
+                        edge.markBackEdge(loopBody(edge, edges));
+                        cyclic = true;
+                    } else if (!finished.contains(targetId)) {
+                        onPath.add(targetId);
+                        path.push(edge.getTarget());
+                        stack.push(edge.getTarget().getOutgoing().iterator());
+                    }
+                } else {
+                    stack.pop();
+                    CompiledNode done = path.pop();
+                    onPath.remove(done.getNodeId());
+                    finished.add(done.getNodeId());
+                }
+            }
+        }
+
+        return cyclic;
+    }
+
+    /**
+     * Natural loop of a back edge: its header plus every node that reaches the
+     * edge's source without passing through the header.
+     */
+    private static Set<String> loopBody(CompiledEdge backEdge, List<CompiledEdge> edges) {
+        Map<String, List<String>> predecessors = new HashMap<>();
+        for (CompiledEdge edge : edges) {
+            predecessors.computeIfAbsent(edge.getTarget().getNodeId(), id -> new ArrayList<>())
+                    .add(edge.getSource().getNodeId());
+        }
+
+        String header = backEdge.getTarget().getNodeId();
+        Set<String> body = new HashSet<>();
+        body.add(header);
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(backEdge.getSource().getNodeId());
+        while (!pending.isEmpty()) {
+            String nodeId = pending.pop();
+            if (body.add(nodeId)) {
+                pending.addAll(predecessors.getOrDefault(nodeId, Collections.emptyList()));
+            }
+        }
+        return body;
+    }
+
+    /**
+     * The definition this graph was compiled from, detached; only its own columns may be read.
+     */
+    public Workflow getWorkflow() {
+        return workflow;
+    }
+
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public CompiledNode getNode(String nodeId) {
+        return nodes.get(nodeId);
+    }
+
+    public Collection<CompiledNode> getNodes() {
+        return nodes.values();
+    }
+
+    public CompiledNode getStartNode() {
+        return startNode;
+    }
+
+    public boolean isCyclic() {
+        return cyclic;
+    }
+
+    /**
+     * IDs of the nodes a run starting at {@code startNodeId} can reach, the start
+     * node included; null means the default start node. Without any start node
+     * every node counts as reachable.
+     */
+    public Set<String> reachableFrom(String startNodeId) {
+        CompiledNode start = startNodeId != null ? nodes.get(startNodeId) : startNode;
+        if (start == null) {
+            return nodes.keySet();
+        }
+        return reachable.computeIfAbsent(start.getNodeId(), id -> {
+            Set<String> seen = new HashSet<>();
+            Deque<CompiledNode> pending = new ArrayDeque<>();
+            seen.add(id);
+            pending.push(start);
+            while (!pending.isEmpty()) {
+                for (CompiledEdge edge : pending.pop().getOutgoing()) {
+                    if (seen.add(edge.getTarget().getNodeId())) {
+                        pending.push(edge.getTarget());
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(seen);
+        });
+    }
+}
@@ -1,76 +1,58 @@
 package com.workflow.engine;
 
+import com.workflow.engine.expression.ConstantExpression;
+import com.workflow.engine.expression.Expression;
+import com.workflow.engine.expression.ExpressionException;
+import com.workflow.engine.expression.ExpressionParser;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class ConditionEvaluator {
 
+    private static final Expression ALWAYS_TRUE = new ConstantExpression(Boolean.TRUE);
+
+    // Kept distinct from ALWAYS_TRUE so a broken condition is never mistaken for a literal true branch
+    private static final Expression INVALID = context -> true;
+
+    // Condition texts come from workflow definitions, so this stays small in practice
+    private static final int MAX_CACHED_CONDITIONS = 10000;
+
+    private final Map<String, Expression> compiledConditions = new ConcurrentHashMap<>();
+
     public boolean evaluateCondition(String condition, Map<String, Object> context) {
+        return compile(condition).test(context);
+    }
+
+    /**
+     * Parses a condition once and caches the compiled form per condition text.
+     * Empty conditions always hold; conditions that do not parse keep the old
+     * behaviour of defaulting to true.
+     */
+    public Expression compile(String condition) {
         if (condition == null || condition.trim().isEmpty()) {
-            return true;
+            return ALWAYS_TRUE;
         }
 
-        // Simple condition evaluation
-        // In a real implementation, you would use a proper expression language
-        switch (condition.toLowerCase()) {
-            case "true":
-                return true;
-            case "false":
-                return false;
-            default:
-                return evaluateComplexCondition(condition, context);
+        Expression cached = compiledConditions.get(condition);
+        if (cached != null) {
+            return cached;
         }
-    }
 
-    private boolean evaluateComplexCondition(String condition, Map<String, Object> context) {
-        // Parse and evaluate complex conditions
-        // For demo purposes, implement basic operators
-        
-        if (condition.contains("==")) {
-            String[] parts = condition.split("==");
-            if (parts.length == 2) {
-                String left = parts[0].trim();
-                String right = parts[1].trim().replace("\"", "");
-                
-                Object leftValue = getValueFromContext(left, context);
-                return leftValue != null && leftValue.toString().equals(right);
-            }
-        }
-        
-        if (condition.contains("!=")) {
-            String[] parts = condition.split("!=");
-            if (parts.length == 2) {
-                String left = parts[0].trim();
-                String right = parts[1].trim().replace("\"", "");
-                
-                Object leftValue = getValueFromContext(left, context);
-                return leftValue == null || !leftValue.toString().equals(right);
-            }
+        Expression compiled;
+        try {
+            compiled = ExpressionParser.parse(condition);
+        } catch (ExpressionException e) {
+            System.err.println("Invalid condition, defaulting to true: " + e.getMessage());
+            compiled = INVALID;
         }
-        
-        // Default to true for unknown conditions
-        return true;
-    }
 
-    private Object getValueFromContext(String key, Map<String, Object> context) {
-        if (context == null) {
-            return null;
-        }
-        
-        // Support nested keys like "user.role"
-        String[] keys = key.split("\\.");
-        Object current = context;
-        
-        for (String k : keys) {
-            if (current instanceof Map) {
-                current = ((Map<?, ?>) current).get(k);
-            } else {
-                return null;
-            }
+        if (compiledConditions.size() >= MAX_CACHED_CONDITIONS) {
+            compiledConditions.clear();
         }
-        
-        return current;
+        compiledConditions.put(condition, compiled);
+        return compiled;
     }
 }
@@ -0,0 +1,61 @@
+package com.workflow.engine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared timing wheel for engine deadlines: node timeouts and parked-node expiry.
+ */
+@Component
+public class DeadlineTimer {
+
+    @Value("${workflow.engine.timers.tick-millis:100}")
+    private long tickMillis;
+
+    @Value("${workflow.engine.timers.wheel-size:1024}")
+    private int wheelSize;
+
+    @Value("${workflow.engine.timers.threads:2}")
+    private int threads;
+
+    private ExecutorService expiryExecutor;
+
+    private TimerWheel wheel;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        expiryExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "workflow-timer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        wheel = new TimerWheel("workflow-timer-wheel", tickMillis, wheelSize, expiryExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        expiryExecutor.shutdown();
+    }
+
+    public TimerWheel.Timeout schedule(Runnable task, Duration delay) {
+        return wheel.schedule(task, delay.toMillis());
+    }
+
+    public TimerWheel.Timeout scheduleAt(Runnable task, LocalDateTime dueAt) {
+        return schedule(task, Duration.between(LocalDateTime.now(), dueAt));
+    }
+
+    public int pending() {
+        return wheel.pending();
+    }
+}
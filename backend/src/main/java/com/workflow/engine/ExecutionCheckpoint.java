@@ -0,0 +1,152 @@
+package com.workflow.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializable snapshot of an {@link ExecutionRun}: everything needed to rebuild
+ * the scheduler state of an execution on any instance.
+ */
+public class ExecutionCheckpoint {
+
+    private Map<String, Object> trigger = new HashMap<>();
+    private Map<String, Map<String, Object>> outputs = new LinkedHashMap<>();
+    private List<PendingActivation> frontier = new ArrayList<>();
+    private Map<String, PendingJoin> joins = new HashMap<>();
+    private Map<String, Integer> loopIterations = new HashMap<>();
+    private Map<Long, String> waiting = new LinkedHashMap<>();
+    private int visits;
+    // Null in checkpoints written before runs could start at another trigger
+    private String startNodeId;
+
+    public Map<String, Object> getTrigger() {
+        return trigger;
+    }
+
+    public void setTrigger(Map<String, Object> trigger) {
+        this.trigger = trigger;
+    }
+
+    /**
+     * Latest output of every completed node, see {@link ExecutionContext}.
+     */
+    public Map<String, Map<String, Object>> getOutputs() {
+        return outputs;
+    }
+
+    public void setOutputs(Map<String, Map<String, Object>> outputs) {
+        this.outputs = outputs;
+    }
+
+    public List<PendingActivation> getFrontier() {
+        return frontier;
+    }
+
+    public void setFrontier(List<PendingActivation> frontier) {
+        this.frontier = frontier;
+    }
+
+    public Map<String, PendingJoin> getJoins() {
+        return joins;
+    }
+
+    public void setJoins(Map<String, PendingJoin> joins) {
+        this.joins = joins;
+    }
+
+    public Map<String, Integer> getLoopIterations() {
+        return loopIterations;
+    }
+
+    public void setLoopIterations(Map<String, Integer> loopIterations) {
+        this.loopIterations = loopIterations;
+    }
+
+    /**
+     * Parked tasks by task ID, mapped to the node they belong to.
+     */
+    public Map<Long, String> getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(Map<Long, String> waiting) {
+        this.waiting = waiting;
+    }
+
+    public int getVisits() {
+        return visits;
+    }
+
+    public void setVisits(int visits) {
+        this.visits = visits;
+    }
+
+    public String getStartNodeId() {
+        return startNodeId;
+    }
+
+    public void setStartNodeId(String startNodeId) {
+        this.startNodeId = startNodeId;
+    }
+
+    public static class PendingActivation {
+
+        private String nodeId;
+        private Map<String, Object> input;
+
+        public PendingActivation() {}
+
+        public PendingActivation(String nodeId, Map<String, Object> input) {
+            this.nodeId = nodeId;
+            this.input = input;
+        }
+
+        public String getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(String nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public Map<String, Object> getInput() {
+            return input;
+        }
+
+        public void setInput(Map<String, Object> input) {
+            this.input = input;
+        }
+    }
+
+    public static class PendingJoin {
+
+        private int pending;
+        private Map<String, Map<String, Object>> inputs = new HashMap<>();
+
+        public PendingJoin() {}
+
+        public PendingJoin(int pending, Map<String, Map<String, Object>> inputs) {
+            this.pending = pending;
+            this.inputs = inputs;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        public void setPending(int pending) {
+            this.pending = pending;
+        }
+
+        public Map<String, Map<String, Object>> getInputs() {
+            return inputs;
+        }
+
+        public void setInputs(Map<String, Map<String, Object>> inputs) {
+            this.inputs = inputs;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.workflow.engine;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Data shared by all nodes of one execution: the trigger payload and the latest
+ * output of every node that has completed, by node ID.
+ *
+ * <p>Nothing is copied into node outputs. A node sees its upstream output through a
+ * read-only {@link Scope} that resolves {@code trigger} and {@code nodes} against
+ * this context, so outputs stay the size of what the node itself produced no matter
+ * how deep the graph is. The node table is copy-on-write: recording an output
+ * publishes a new table of references, so a scope handed to a node keeps a stable
+ * snapshot while other branches complete.</p>
+ */
+public class ExecutionContext {
+
+    public static final String TRIGGER = "trigger";
+    public static final String NODES = "nodes";
+
+    // Older workflows read the payload as triggerData.* from the trigger node's output
+    private static final String LEGACY_TRIGGER = "triggerData";
+
+    private final Map<String, Object> trigger;
+    private volatile Map<String, Map<String, Object>> outputs;
+
+    public ExecutionContext(Map<String, Object> trigger) {
+        this(trigger, Collections.emptyMap());
+    }
+
+    ExecutionContext(Map<String, Object> trigger, Map<String, Map<String, Object>> outputs) {
+        this.trigger = trigger != null ? Collections.unmodifiableMap(trigger) : Collections.emptyMap();
+        this.outputs = outputs != null ? Collections.unmodifiableMap(new LinkedHashMap<>(outputs)) : Collections.emptyMap();
+    }
+
+    public Map<String, Object> getTrigger() {
+        return trigger;
+    }
+
+    public Map<String, Map<String, Object>> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Records a node's output; a loop re-entering the node replaces its previous one.
+     * Only call this from the run's event loop.
+     */
+    public void recordOutput(String nodeId, Map<String, Object> output) {
+        Map<String, Map<String, Object>> next = new LinkedHashMap<>(outputs);
+        next.put(nodeId, Collections.unmodifiableMap(output));
+        outputs = Collections.unmodifiableMap(next);
+    }
+
+    /**
+     * Read-only view of {@code local} (a node's input or output) that also resolves
+     * {@code trigger} and {@code nodes} against this context.
+     */
+    public Scope scope(Map<String, Object> local) {
+        return new Scope(local != null ? local : Collections.emptyMap(), trigger, outputs);
+    }
+
+    /**
+     * What a node or edge condition reads. Lookups go to the local map first; the
+     * shared entries are only materialized if the whole view is iterated.
+     */
+    public static class Scope extends AbstractMap<String, Object> {
+
+        private final Map<String, Object> local;
+        private final Map<String, Object> trigger;
+        private final Map<String, Map<String, Object>> outputs;
+
+        private Scope(Map<String, Object> local, Map<String, Object> trigger, Map<String, Map<String, Object>> outputs) {
+            this.local = local;
+            this.trigger = trigger;
+            this.outputs = outputs;
+        }
+
+        public Map<String, Object> getLocal() {
+            return local;
+        }
+
+        public Map<String, Object> getTrigger() {
+            return trigger;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (local.containsKey(key)) {
+                return local.get(key);
+            }
+            if (TRIGGER.equals(key) || LEGACY_TRIGGER.equals(key)) {
+                return trigger;
+            }
+            if (NODES.equals(key)) {
+                return outputs;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return local.containsKey(key) || TRIGGER.equals(key) || LEGACY_TRIGGER.equals(key) || NODES.equals(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Map<String, Object> all = new LinkedHashMap<>(local);
+            all.putIfAbsent(TRIGGER, trigger);
+            all.putIfAbsent(NODES, outputs);
+            return Collections.unmodifiableMap(all).entrySet();
+        }
+    }
+}
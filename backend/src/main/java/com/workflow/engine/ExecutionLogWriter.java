@@ -0,0 +1,162 @@
+package com.workflow.engine;
+
+import com.workflow.model.ExecutionLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind pipeline for execution logs. Entries are inserted with JDBC batch
+ * statements instead of one {@code save} per entry, which Hibernate cannot batch
+ * for IDENTITY keys.
+ *
+ * <p>In {@code async} mode (fire-and-forget) entries go onto a bounded lock-free
+ * queue and a writer thread flushes them once {@code batch-size} entries are
+ * waiting or {@code flush-interval-millis} has passed. When the queue is full the
+ * appending thread flushes a batch itself, which slows producers down to the speed
+ * of the database instead of dropping entries. Entries still queued when the JVM
+ * dies are lost.</p>
+ *
+ * <p>In {@code sync} mode every entry is inserted before {@code append} returns, one
+ * statement per entry; nothing is lost when the JVM dies, at the cost of a round
+ * trip per entry on the engine's threads. The engine appends outside transactions,
+ * so entries are committed on their own, not together with the state they describe.</p>
+ */
+@Component
+public class ExecutionLogWriter {
+
+    public static final String ASYNC = "async";
+    public static final String SYNC = "sync";
+
+    private static final String INSERT_SQL = "INSERT INTO execution_logs "
+            + "(workflow_id, execution_id, task_id, node_id, status, message, data, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${workflow.engine.log-writer.durability:async}")
+    private String durability;
+
+    @Value("${workflow.engine.log-writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${workflow.engine.log-writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${workflow.engine.log-writer.flush-interval-millis:200}")
+    private long flushIntervalMillis;
+
+    private final Queue<ExecutionLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    @PostConstruct
+    public void init() {
+        if (!ASYNC.equals(durability) && !SYNC.equals(durability)) {
+            throw new IllegalStateException("Unknown log durability '" + durability + "', expected "
+                    + ASYNC + " or " + SYNC);
+        }
+        writer = new Thread(this::drainLoop, "execution-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the writer did not get to before the timeout
+        while (flushBatch() > 0) {
+            // keep flushing
+        }
+    }
+
+    public void append(ExecutionLog log) {
+        if (SYNC.equals(durability)) {
+            insert(List.of(log));
+            return;
+        }
+
+        queue.add(log);
+        int size = queued.incrementAndGet();
+        if (size > queueCapacity) {
+            // Backpressure: the producer pays for the flush instead of growing the queue
+            flushBatch();
+        } else if (size >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public int pending() {
+        return queued.get();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (queued.get() < batchSize) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+            }
+            try {
+                flushBatch();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to write execution logs: " + e.getMessage());
+            }
+        }
+    }
+
+    // Returns the number of entries taken off the queue
+    private int flushBatch() {
+        List<ExecutionLog> batch = new ArrayList<>(Math.min(batchSize, Math.max(queued.get(), 1)));
+        ExecutionLog log;
+        while (batch.size() < batchSize && (log = queue.poll()) != null) {
+            batch.add(log);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        queued.addAndGet(-batch.size());
+        insert(batch);
+        return batch.size();
+    }
+
+    private void insert(List<ExecutionLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, log) -> {
+            ps.setLong(1, log.getWorkflowId());
+            ps.setString(2, log.getExecutionId());
+            if (log.getTaskId() != null) {
+                ps.setLong(3, log.getTaskId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, log.getNodeId());
+            ps.setString(5, log.getStatus());
+            ps.setString(6, log.getMessage());
+            ps.setString(7, log.getData());
+            ps.setTimestamp(8, Timestamp.valueOf(log.getCreatedAt()));
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.workflow.engine;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-memory state of a dispatched workflow execution, shared between the
+ * dispatcher worker that runs it and the status endpoint that reads it.
+ */
+public class ExecutionRecord {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String WAITING = "WAITING";
+
+    private final String executionId;
+    private final Long workflowId;
+    private final LocalDateTime submittedAt;
+
+    private volatile String status = QUEUED;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+
+    // Completes once the execution finishes or suspends
+    private final CompletableFuture<ExecutionRecord> settled = new CompletableFuture<>();
+
+    public ExecutionRecord(String executionId, Long workflowId) {
+        this.executionId = executionId;
+        this.workflowId = workflowId;
+        this.submittedAt = LocalDateTime.now();
+    }
+
+    public void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = RUNNING;
+    }
+
+    public void markCompleted() {
+        this.completedAt = LocalDateTime.now();
+        this.status = COMPLETED;
+        settled.complete(this);
+    }
+
+    public void markWaiting() {
+        this.status = WAITING;
+        settled.complete(this);
+    }
+
+    public void markFailed(String message) {
+        this.message = message;
+        this.completedAt = LocalDateTime.now();
+        this.status = FAILED;
+        settled.complete(this);
+    }
+
+    public boolean isFinished() {
+        return COMPLETED.equals(status) || FAILED.equals(status);
+    }
+
+    public CompletableFuture<ExecutionRecord> getSettled() {
+        return settled;
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.workflow.engine;
+
+import com.workflow.model.Task;
+import com.workflow.model.WorkflowExecution;
+import com.workflow.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks up executions whose owning instance has gone away: executions that were
+ * running when their JVM stopped and that it no longer holds a lease on. They
+ * continue from their last checkpoint, so a crash costs the nodes that were in
+ * flight rather than a replay of the whole workflow. Executions of live instances,
+ * which keep renewing their leases, are never touched.
+ */
+@Component
+public class ExecutionRecovery {
+
+    @Autowired
+    private ExecutionStateStore stateStore;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Autowired
+    private ParkedNodeDeadlines parkedDeadlines;
+
+    @Value("${workflow.engine.recovery.enabled:true}")
+    private boolean recoveryEnabled;
+
+    // Scans periodically, since a lease only expires some time after its owner died
+    @Scheduled(initialDelayString = "${workflow.engine.recovery.scan-interval-seconds:30}",
+            fixedDelayString = "${workflow.engine.recovery.scan-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void recoverAbandonedExecutions() {
+        if (!recoveryEnabled) {
+            return;
+        }
+
+        int recovered = 0;
+        for (WorkflowExecution execution : stateStore.findAbandoned()) {
+            if (!stateStore.takeOver(execution)) {
+                continue; // Renewed by its owner, or another instance got there first
+            }
+
+            interruptTasks(execution.getId());
+            if (!executionDispatcher.dispatchRecovery(execution.getId(), execution.getWorkflowId())) {
+                // Saturated; let the lease go so the next scan, here or elsewhere, retries
+                stateStore.releaseLease(execution.getId());
+                break;
+            }
+            recovered++;
+        }
+
+        if (recovered > 0) {
+            System.out.println("Recovered " + recovered + " abandoned workflow executions");
+        }
+    }
+
+    private void interruptTasks(String executionId) {
+        // Tasks left RUNNING never finished; their nodes are re-run from the checkpoint
+        List<Task> stale = taskRepository.findByExecutionIdAndStatus(executionId, "RUNNING");
+        for (Task task : stale) {
+            task.setStatus("INTERRUPTED");
+            task.setResult("Node execution interrupted, re-run on recovery");
+            task.setCompletedAt(LocalDateTime.now());
+        }
+        taskRepository.saveAll(stale);
+
+        // A decision claimed but not applied before the owner went away; the task is still parked in the checkpoint
+        List<Task> resuming = taskRepository.findByExecutionIdAndStatus(executionId, ExecutionStateStore.TASK_RESUMING);
+        for (Task task : resuming) {
+            task.setStatus(ExecutionStateStore.TASK_WAITING);
+        }
+        taskRepository.saveAll(resuming);
+        for (Task task : resuming) {
+            if (task.getDueAt() != null) {
+                parkedDeadlines.schedule(task.getId(), task.getDueAt());
+            }
+        }
+    }
+}
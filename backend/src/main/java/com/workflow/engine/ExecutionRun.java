@@ -0,0 +1,249 @@
+package com.workflow.engine;
+
+import com.workflow.exception.WorkflowException;
+import com.workflow.model.Workflow;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler state of one workflow execution.
+ *
+ * <p>All state changes are funnelled through {@link #post(Runnable)} and applied
+ * one event at a time by whichever thread currently drains the event queue. Node
+ * completions therefore never recurse into their successors, so stack depth does
+ * not grow with the depth of the graph, and the frontier, join and loop state
+ * need no locking.</p>
+ *
+ * <p>A run that has nothing left to do but parked nodes (e.g. pending approvals)
+ * completes as {@link Outcome#SUSPENDED}; its state is then captured with
+ * {@link #toCheckpoint()} and the run is dropped until it is resumed. The same
+ * checkpoint is taken after every node while the run is active, so a run lost
+ * with its JVM can be recovered without replaying completed nodes.</p>
+ */
+public class ExecutionRun {
+
+    public enum Outcome {
+        COMPLETED,
+        SUSPENDED
+    }
+
+    private final String executionId;
+    private final Workflow workflow;
+    private final CompiledWorkflow graph;
+    private final ExecutionContext context;
+    private final CompletableFuture<Outcome> completion = new CompletableFuture<>();
+
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // Only touched from the event loop
+    private final Deque<NodeActivation> frontier = new ArrayDeque<>();
+    private final Map<String, JoinBarrier> joins = new HashMap<>();
+    private final Map<String, Integer> loopIterations = new HashMap<>();
+    private final Map<Long, String> waiting = new LinkedHashMap<>();
+    private final Map<Long, NodeActivation> running = new LinkedHashMap<>();
+    private int visits;
+    private RuntimeException failure;
+    // The trigger node the run started from; null means the workflow's default one
+    private String startNodeId;
+
+    public ExecutionRun(String executionId, Workflow workflow, CompiledWorkflow graph, ExecutionContext context) {
+        this.executionId = executionId;
+        this.workflow = workflow;
+        this.graph = graph;
+        this.context = context;
+    }
+
+    public void post(Runnable event) {
+        events.add(event);
+        if (wip.getAndIncrement() != 0) {
+            // Another thread is draining and will pick this event up
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Runnable next;
+            while ((next = events.poll()) != null) {
+                try {
+                    next.run();
+                } catch (RuntimeException e) {
+                    fail(e);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public Workflow getWorkflow() {
+        return workflow;
+    }
+
+    public CompiledWorkflow getGraph() {
+        return graph;
+    }
+
+    public ExecutionContext getContext() {
+        return context;
+    }
+
+    public CompletableFuture<Outcome> getCompletion() {
+        return completion;
+    }
+
+    public Deque<NodeActivation> getFrontier() {
+        return frontier;
+    }
+
+    public Map<String, JoinBarrier> getJoins() {
+        return joins;
+    }
+
+    public String getStartNodeId() {
+        return startNodeId;
+    }
+
+    public void setStartNodeId(String startNodeId) {
+        this.startNodeId = startNodeId;
+    }
+
+    /**
+     * Barrier for a join node that only waits for the incoming paths this run can
+     * take, i.e. those from nodes reachable from its start node.
+     */
+    public JoinBarrier newJoin(CompiledNode node) {
+        return new JoinBarrier(node, graph.reachableFrom(startNodeId));
+    }
+
+    /**
+     * Forgets join progress inside a loop so the next iteration joins afresh.
+     */
+    public void resetJoins(Collection<String> nodeIds) {
+        joins.keySet().removeAll(nodeIds);
+    }
+
+    public int nextLoopIteration(String headerNodeId) {
+        return loopIterations.merge(headerNodeId, 1, Integer::sum);
+    }
+
+    /**
+     * Parks a node whose task waits for an external decision.
+     */
+    public void park(Long taskId, String nodeId) {
+        waiting.put(taskId, nodeId);
+    }
+
+    /**
+     * Removes a parked task and returns the node it belongs to, or null if the task
+     * is not parked in this execution.
+     */
+    public String unpark(Long taskId) {
+        return waiting.remove(taskId);
+    }
+
+    public boolean hasWaiting() {
+        return !waiting.isEmpty();
+    }
+
+    public int incrementVisits() {
+        return ++visits;
+    }
+
+    public int getInFlight() {
+        return running.size();
+    }
+
+    public void nodeStarted(Long taskId, NodeActivation activation) {
+        running.put(taskId, activation);
+    }
+
+    public void nodeFinished(Long taskId) {
+        running.remove(taskId);
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    public void fail(RuntimeException failure) {
+        if (this.failure == null) {
+            this.failure = failure;
+        }
+        if (running.isEmpty()) {
+            complete();
+        }
+    }
+
+    public void complete() {
+        if (failure != null) {
+            completion.completeExceptionally(failure);
+        } else {
+            completion.complete(waiting.isEmpty() ? Outcome.COMPLETED : Outcome.SUSPENDED);
+        }
+    }
+
+    /**
+     * Captures the scheduler state. Only call this from the run's own event loop
+     * or after it completed.
+     */
+    public ExecutionCheckpoint toCheckpoint() {
+        ExecutionCheckpoint checkpoint = new ExecutionCheckpoint();
+        checkpoint.setTrigger(context.getTrigger());
+        checkpoint.setOutputs(context.getOutputs());
+        // Nodes still in flight have not produced output yet and run again on recovery
+        for (NodeActivation activation : running.values()) {
+            checkpoint.getFrontier().add(new ExecutionCheckpoint.PendingActivation(
+                    activation.getNode().getNodeId(), activation.getInput()));
+        }
+        for (NodeActivation activation : frontier) {
+            checkpoint.getFrontier().add(new ExecutionCheckpoint.PendingActivation(
+                    activation.getNode().getNodeId(), activation.getInput()));
+        }
+        joins.forEach((nodeId, barrier) -> checkpoint.getJoins().put(nodeId, barrier.toCheckpoint()));
+        checkpoint.getLoopIterations().putAll(loopIterations);
+        checkpoint.getWaiting().putAll(waiting);
+        checkpoint.setVisits(visits);
+        checkpoint.setStartNodeId(startNodeId);
+        return checkpoint;
+    }
+
+    public static ExecutionRun fromCheckpoint(String executionId, Workflow workflow, CompiledWorkflow graph,
+                                              ExecutionCheckpoint checkpoint) {
+        ExecutionContext context = new ExecutionContext(checkpoint.getTrigger(), checkpoint.getOutputs());
+        ExecutionRun run = new ExecutionRun(executionId, workflow, graph, context);
+        for (ExecutionCheckpoint.PendingActivation activation : checkpoint.getFrontier()) {
+            run.frontier.add(new NodeActivation(requireNode(graph, activation.getNodeId()), activation.getInput()));
+        }
+        checkpoint.getJoins().forEach((nodeId, join) ->
+                run.joins.put(nodeId, new JoinBarrier(requireNode(graph, nodeId), join.getPending(), join.getInputs())));
+        run.loopIterations.putAll(checkpoint.getLoopIterations());
+        checkpoint.getWaiting().forEach((taskId, nodeId) -> {
+            requireNode(graph, nodeId);
+            run.waiting.put(taskId, nodeId);
+        });
+        run.visits = checkpoint.getVisits();
+        run.startNodeId = checkpoint.getStartNodeId();
+        return run;
+    }
+
+    private static CompiledNode requireNode(CompiledWorkflow graph, String nodeId) {
+        CompiledNode node = graph.getNode(nodeId);
+        if (node == null) {
+            throw new WorkflowException("Node " + nodeId + " no longer exists in workflow " + graph.getWorkflowId());
+        }
+        return node;
+    }
+}
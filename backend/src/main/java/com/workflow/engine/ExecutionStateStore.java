@@ -0,0 +1,304 @@
+package com.workflow.engine;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.exception.WorkflowException;
+import com.workflow.model.Workflow;
+import com.workflow.model.WorkflowExecution;
+import com.workflow.repository.TaskRepository;
+import com.workflow.repository.WorkflowExecutionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable state of workflow executions. A suspended execution holds no thread and
+ * no memory; it lives only as a checkpoint row until something resumes it.
+ *
+ * <p>A running execution is owned by the instance running it, which holds a lease
+ * on the row and renews it from a heartbeat thread and with every checkpoint. Only
+ * executions whose lease has expired are recovered elsewhere, and every write of a
+ * run is conditional on still owning it, so a run that was taken over stops instead
+ * of overwriting its successor. Instances' clocks are assumed to agree to well
+ * within the lease.</p>
+ */
+@Component
+public class ExecutionStateStore {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String WAITING = "WAITING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    // Task states around a resume: parked, and claimed by the one decision or expiry applying to it
+    public static final String TASK_WAITING = "WAITING";
+    public static final String TASK_RESUMING = "RESUMING";
+
+    public enum ResumeClaim {
+        CLAIMED,
+        // The task was decided, expired or resumed already
+        TASK_NOT_WAITING,
+        // The execution is running, e.g. resuming another of its parked tasks
+        EXECUTION_BUSY
+    }
+
+    @Autowired
+    private WorkflowExecutionRepository executionRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // An instance that has not renewed its leases for this long is presumed dead
+    @Value("${workflow.engine.recovery.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${workflow.engine.recovery.heartbeat-seconds:15}")
+    private long heartbeatSeconds;
+
+    // Unique per JVM, so a restarted instance never mistakes its predecessor's executions for its own
+    private String instanceId;
+
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void init() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "instance";
+        }
+        instanceId = host + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+        // A dedicated thread, so a long @Scheduled job can never starve the heartbeat
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "execution-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::renewLeases, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void started(String executionId, Long workflowId) {
+        LocalDateTime now = LocalDateTime.now();
+        WorkflowExecution execution = new WorkflowExecution();
+        execution.setId(executionId);
+        execution.setWorkflowId(workflowId);
+        execution.setStatus(RUNNING);
+        execution.setOwner(instanceId);
+        execution.setLeaseExpiresAt(leaseFrom(now));
+        execution.setCreatedAt(now);
+        execution.setUpdatedAt(now);
+        executionRepository.save(execution);
+    }
+
+    /**
+     * Inserts QUEUED rows for executions that have been accepted but not started. Each
+     * row carries a checkpoint holding just the start node and its payload. The rows
+     * belong to no instance until {@link QueuedExecutionDrain} claims them, so any
+     * instance may start them and they survive a restart.
+     */
+    @Transactional
+    public void registerQueued(List<ExecutionRecord> records, List<Map<String, Object>> payloads, CompiledNode startNode) {
+        List<WorkflowExecution> executions = new ArrayList<>(records.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < records.size(); i++) {
+            ExecutionCheckpoint checkpoint = new ExecutionCheckpoint();
+            checkpoint.setTrigger(payloads.get(i));
+            checkpoint.setStartNodeId(startNode.getNodeId());
+            checkpoint.getFrontier().add(new ExecutionCheckpoint.PendingActivation(startNode.getNodeId(), payloads.get(i)));
+
+            WorkflowExecution execution = new WorkflowExecution();
+            execution.setId(records.get(i).getExecutionId());
+            execution.setWorkflowId(records.get(i).getWorkflowId());
+            execution.setStatus(QUEUED);
+            execution.setCheckpoint(serialize(checkpoint, execution.getId()));
+            execution.setCreatedAt(now);
+            execution.setUpdatedAt(now);
+            executions.add(execution);
+        }
+        executionRepository.saveAll(executions);
+    }
+
+    /**
+     * Records the progress of a running execution in a single UPDATE, committed
+     * independently of any surrounding transaction; it also renews the lease. Returns
+     * false if this instance no longer owns the execution, in which case the run must
+     * stop: another instance has taken it over.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean checkpoint(ExecutionRun run) {
+        LocalDateTime now = LocalDateTime.now();
+        return executionRepository.saveCheckpoint(run.getExecutionId(), instanceId, serialize(run),
+                leaseFrom(now), now) == 1;
+    }
+
+    public void suspended(ExecutionRun run) {
+        executionRepository.settle(run.getExecutionId(), instanceId, WAITING, null, serialize(run), LocalDateTime.now());
+    }
+
+    public void finished(String executionId, String status, String message) {
+        executionRepository.settle(executionId, instanceId, status, message, null, LocalDateTime.now());
+    }
+
+    /**
+     * Claims a parked task and then its execution for resumption. Claiming the task
+     * first (WAITING to RESUMING) means a decision or expiry that read the task before
+     * an earlier resume completed it can never take over the execution once it has
+     * parked again at another node. If the execution is busy the task is put back.
+     */
+    public ResumeClaim claimForResume(Long taskId, String executionId) {
+        if (taskRepository.transitionStatus(taskId, TASK_WAITING, TASK_RESUMING) != 1) {
+            return ResumeClaim.TASK_NOT_WAITING;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (executionRepository.claim(executionId, WAITING, RUNNING, instanceId, leaseFrom(now), now) != 1) {
+            taskRepository.transitionStatus(taskId, TASK_RESUMING, TASK_WAITING);
+            return ResumeClaim.EXECUTION_BUSY;
+        }
+        return ResumeClaim.CLAIMED;
+    }
+
+    /**
+     * Undoes {@link #claimForResume} when the resume could not be dispatched.
+     */
+    public void releaseClaim(String executionId, Long taskId) {
+        executionRepository.release(executionId, instanceId, RUNNING, WAITING, LocalDateTime.now());
+        taskRepository.transitionStatus(taskId, TASK_RESUMING, TASK_WAITING);
+    }
+
+    /**
+     * Workflows with QUEUED executions, in no particular order.
+     */
+    public List<Long> findQueuedWorkflowIds() {
+        return executionRepository.findWorkflowIdsByStatus(QUEUED);
+    }
+
+    /**
+     * The oldest QUEUED executions of a workflow.
+     */
+    public List<String> findQueued(Long workflowId, int limit) {
+        return executionRepository.findIdsByWorkflowIdAndStatus(workflowId, QUEUED, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Claims a QUEUED execution for this instance to start. Fails if another
+     * instance claimed it first.
+     */
+    public boolean claimQueued(String executionId) {
+        LocalDateTime now = LocalDateTime.now();
+        return executionRepository.claim(executionId, QUEUED, RUNNING, instanceId, leaseFrom(now), now) == 1;
+    }
+
+    /**
+     * Undoes {@link #claimQueued} when the execution could not be dispatched.
+     */
+    public void releaseQueued(String executionId) {
+        executionRepository.release(executionId, instanceId, RUNNING, QUEUED, LocalDateTime.now());
+    }
+
+    /**
+     * Running executions whose owner has stopped renewing its lease.
+     */
+    public List<WorkflowExecution> findAbandoned() {
+        return executionRepository.findWithExpiredLease(List.of(RUNNING), LocalDateTime.now());
+    }
+
+    /**
+     * Takes over an abandoned execution for recovery. The update is conditional on
+     * the lease still being expired, so an owner that renewed in the meantime keeps
+     * its execution and concurrently scanning instances never recover it twice.
+     */
+    public boolean takeOver(WorkflowExecution execution) {
+        LocalDateTime now = LocalDateTime.now();
+        return executionRepository.takeOver(execution.getId(), execution.getStatus(), RUNNING, instanceId,
+                leaseFrom(now), now) == 1;
+    }
+
+    /**
+     * Gives up a taken-over execution that could not be dispatched, so a later scan
+     * here or on another instance picks it up again.
+     */
+    public void releaseLease(String executionId) {
+        executionRepository.release(executionId, instanceId, RUNNING, RUNNING, LocalDateTime.now());
+    }
+
+    public void renewLeases() {
+        try {
+            executionRepository.renewLeases(instanceId, List.of(RUNNING), leaseFrom(LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            System.err.println("Failed to renew execution leases: " + e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ExecutionRun restore(String executionId, Workflow workflow, CompiledWorkflow graph) {
+        WorkflowExecution execution = load(executionId);
+        if (execution.getCheckpoint() == null) {
+            throw new WorkflowException("Execution " + executionId + " has no checkpoint to resume from");
+        }
+
+        try {
+            ExecutionCheckpoint checkpoint = objectMapper.readValue(execution.getCheckpoint(), ExecutionCheckpoint.class);
+            return ExecutionRun.fromCheckpoint(executionId, workflow, graph, checkpoint);
+        } catch (JsonProcessingException e) {
+            throw new WorkflowException("Corrupt checkpoint for execution " + executionId + ": " + e.getMessage(), e);
+        }
+    }
+
+    public Optional<WorkflowExecution> find(String executionId) {
+        return executionRepository.findById(executionId);
+    }
+
+    private String serialize(ExecutionRun run) {
+        return serialize(run.toCheckpoint(), run.getExecutionId());
+    }
+
+    private String serialize(ExecutionCheckpoint checkpoint, String executionId) {
+        try {
+            return objectMapper.writeValueAsString(checkpoint);
+        } catch (JsonProcessingException e) {
+            throw new WorkflowException("Failed to checkpoint execution " + executionId + ": " + e.getMessage(), e);
+        }
+    }
+
+    private LocalDateTime leaseFrom(LocalDateTime now) {
+        return now.plusSeconds(leaseSeconds);
+    }
+
+    private WorkflowExecution load(String executionId) {
+        return executionRepository.findById(executionId)
+                .orElseThrow(() -> new WorkflowException("Execution not found with id: " + executionId));
+    }
+}
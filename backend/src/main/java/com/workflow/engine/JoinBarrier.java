@@ -0,0 +1,71 @@
+package com.workflow.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the incoming paths of a join node for one execution. The node becomes
+ * runnable once every incoming forward edge has either fired or been skipped; if
+ * none fired the node is skipped as well. Edges from nodes the execution cannot
+ * reach, such as another trigger, are not waited for.
+ */
+public class JoinBarrier {
+
+    private final CompiledNode node;
+    private final Map<String, Map<String, Object>> inputs = new HashMap<>();
+    private int pending;
+
+    public JoinBarrier(CompiledNode node) {
+        this.node = node;
+        this.pending = node.getIncomingCount();
+    }
+
+    public JoinBarrier(CompiledNode node, Set<String> reachable) {
+        this.node = node;
+        this.pending = (int) node.getIncomingSources().stream().filter(reachable::contains).count();
+    }
+
+    JoinBarrier(CompiledNode node, int pending, Map<String, Map<String, Object>> inputs) {
+        this.node = node;
+        this.pending = pending;
+        this.inputs.putAll(inputs);
+    }
+
+    synchronized ExecutionCheckpoint.PendingJoin toCheckpoint() {
+        return new ExecutionCheckpoint.PendingJoin(pending, new HashMap<>(inputs));
+    }
+
+    /**
+     * Records one resolved incoming edge and returns true when it was the last one.
+     */
+    public synchronized boolean arrive(String sourceNodeId, boolean fired, Map<String, Object> output) {
+        if (fired) {
+            inputs.put(sourceNodeId, output);
+        }
+        return --pending == 0;
+    }
+
+    public synchronized boolean hasInput() {
+        return !inputs.isEmpty();
+    }
+
+    /**
+     * Merges the fired inputs in edge declaration order so the result does not
+     * depend on which branch finished first.
+     */
+    public synchronized Map<String, Object> mergedInput() {
+        if (inputs.size() == 1) {
+            return inputs.values().iterator().next();
+        }
+
+        Map<String, Object> merged = new HashMap<>();
+        for (String sourceNodeId : node.getIncomingSources()) {
+            Map<String, Object> input = inputs.get(sourceNodeId);
+            if (input != null) {
+                merged.putAll(input);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,42 @@
+package com.workflow.engine;
+
+import java.util.Map;
+
+/**
+ * A node that is ready to run together with the input it was activated with.
+ */
+public class NodeActivation {
+
+    private final CompiledNode node;
+    private final Map<String, Object> input;
+    private final int attempt;
+
+    public NodeActivation(CompiledNode node, Map<String, Object> input) {
+        this(node, input, 1);
+    }
+
+    private NodeActivation(CompiledNode node, Map<String, Object> input, int attempt) {
+        this.node = node;
+        this.input = input;
+        this.attempt = attempt;
+    }
+
+    public NodeActivation nextAttempt() {
+        return new NodeActivation(node, input, attempt + 1);
+    }
+
+    public CompiledNode getNode() {
+        return node;
+    }
+
+    public Map<String, Object> getInput() {
+        return input;
+    }
+
+    /**
+     * 1-based attempt number; above 1 when the node is being retried.
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+}
@@ -1,110 +1,110 @@
 package com.workflow.engine;
 
+import com.workflow.engine.handler.NodeHandler;
 import com.workflow.model.WorkflowNode;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 @Component
 public class NodeExecutor {
 
-    public Map<String, Object> executeNode(WorkflowNode node, Map<String, Object> input) {
-        Map<String, Object> result = new HashMap<>();
-        
-        switch (node.getType()) {
-            case "trigger":
-                result = executeTriggerNode(node, input);
-                break;
-            case "condition":
-                result = executeConditionNode(node, input);
-                break;
-            case "action":
-                result = executeActionNode(node, input);
-                break;
-            case "approval":
-                result = executeApprovalNode(node, input);
-                break;
-            case "end":
-                result = executeEndNode(node, input);
-                break;
-            default:
-                result.put("status", "completed");
-                result.put("message", "Unknown node type: " + node.getType());
+    @Autowired
+    private List<NodeHandler> nodeHandlers;
+
+    @Autowired
+    private NodeResultCache resultCache;
+
+    private Map<String, NodeHandler> handlersByType;
+
+    @PostConstruct
+    public void init() {
+        // Build the type -> handler table once; dispatch is a single map lookup
+        Map<String, NodeHandler> table = new HashMap<>();
+        for (NodeHandler handler : nodeHandlers) {
+            NodeHandler previous = table.put(handler.getType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate node handlers for type '" + handler.getType() + "': "
+                        + previous.getClass().getName() + " and " + handler.getClass().getName());
+            }
         }
-        
-        result.put("nodeId", node.getNodeId());
-        result.put("nodeType", node.getType());
-        result.put("timestamp", System.currentTimeMillis());
-        
-        return result;
+        handlersByType = table;
     }
 
-    private Map<String, Object> executeTriggerNode(WorkflowNode node, Map<String, Object> input) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "completed");
-        result.put("message", "Trigger node executed");
-        result.put("triggerData", input != null ? input : new HashMap<>());
-        
-        // Simulate trigger processing
+    public Map<String, Object> executeNode(WorkflowNode node, Map<String, Object> input) {
         try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            return executeNodeAsync(new CompiledNode(node), input).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
-        
-        return result;
     }
 
-    private Map<String, Object> executeConditionNode(WorkflowNode node, Map<String, Object> input) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "completed");
-        result.put("message", "Condition node executed");
-        
-        // Simple condition evaluation (in real implementation, parse the configuration)
-        // For demo purposes, randomly return true/false
-        boolean conditionResult = System.currentTimeMillis() % 2 == 0;
-        result.put("conditionResult", conditionResult);
-        result.put("condition", conditionResult ? "true" : "false");
-        
-        return result;
-    }
+    public CompletionStage<Map<String, Object>> executeNodeAsync(CompiledNode node, Map<String, Object> input) {
+        String cacheKey = node.isCacheable() ? resultCache.keyFor(node, input) : null;
+        if (cacheKey != null) {
+            Map<String, Object> cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                cached.put("cached", true);
+                cached.put("timestamp", System.currentTimeMillis());
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
 
-    private Map<String, Object> executeActionNode(WorkflowNode node, Map<String, Object> input) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "completed");
-        result.put("message", "Action node executed");
-        
-        // Simulate action processing
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        NodeHandler handler = handlersByType.get(node.getType());
+
+        CompletionStage<Map<String, Object>> stage;
+        if (handler == null) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("status", "completed");
+            result.put("message", "Unknown node type: " + node.getType());
+            stage = CompletableFuture.completedFuture(result);
+        } else {
+            try {
+                stage = handler.handle(node, input);
+            } catch (RuntimeException e) {
+                // Handlers that fail before returning a stage are treated like failed stages
+                stage = CompletableFuture.failedFuture(e);
+            }
         }
-        
-        result.put("actionResult", "Action completed successfully");
-        return result;
-    }
 
-    private Map<String, Object> executeApprovalNode(WorkflowNode node, Map<String, Object> input) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "completed");
-        result.put("message", "Approval node executed");
-        
-        // Simulate approval (in real implementation, this would wait for human approval)
-        // For demo purposes, auto-approve
-        result.put("approved", true);
-        result.put("approver", "system");
-        result.put("approvalTime", System.currentTimeMillis());
-        
-        return result;
+        return stage.thenApply(result -> {
+            Map<String, Object> output = result != null ? result : new HashMap<>();
+            output.put("nodeId", node.getNodeId());
+            output.put("nodeType", node.getType());
+            output.put("timestamp", System.currentTimeMillis());
+            // Failed stages never get here; parked (waiting) outputs must not be replayed
+            if (cacheKey != null && "completed".equals(output.get("status"))) {
+                resultCache.put(cacheKey, node, output);
+            }
+            return output;
+        });
     }
 
-    private Map<String, Object> executeEndNode(WorkflowNode node, Map<String, Object> input) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("status", "completed");
-        result.put("message", "End node reached - workflow complete");
-        result.put("finalData", input);
+    /**
+     * Output a parked node resumes with when its timeout expires; null if its type
+     * does not define one.
+     */
+    public Map<String, Object> timeoutResult(CompiledNode node) {
+        NodeHandler handler = handlersByType.get(node.getType());
+        if (handler == null) {
+            return null;
+        }
+        Map<String, Object> result = handler.onTimeout(node);
+        if (result != null) {
+            result.put("nodeId", node.getNodeId());
+            result.put("nodeType", node.getType());
+            result.put("timestamp", System.currentTimeMillis());
+        }
         return result;
     }
 }
@@ -0,0 +1,155 @@
+package com.workflow.engine;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the output of nodes marked {@code "cacheable": true}. Entries are keyed by
+ * the node's cache scope (workflow, node ID, configuration hash) and a hash of its
+ * input, expire after the node's {@code cacheTtl} (default from configuration) and
+ * are evicted least-recently-used once the cache is full.
+ */
+@Component
+public class NodeResultCache {
+
+    // Metadata the executor stamps on every output; it changes per run and would defeat the cache
+    private static final Set<String> VOLATILE_INPUT_KEYS = Set.of("timestamp", "nodeId", "nodeType");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${workflow.engine.node-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${workflow.engine.node-cache.default-ttl-seconds:300}")
+    private long defaultTtlSeconds;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private ObjectMapper canonicalMapper;
+
+    @PostConstruct
+    public void init() {
+        canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * Returns the cache key for running {@code node} on {@code input}, or null if the
+     * input cannot be hashed (in which case the node simply runs).
+     */
+    public String keyFor(CompiledNode node, Map<String, Object> input) {
+        Map<String, Object> keyed = new HashMap<>();
+        if (input instanceof ExecutionContext.Scope scope) {
+            // Outputs of unrelated nodes carry timestamps; a cacheable node depends on its input and the trigger
+            keyed.putAll(scope.getLocal());
+            keyed.keySet().removeAll(VOLATILE_INPUT_KEYS);
+            keyed.put(ExecutionContext.TRIGGER, scope.getTrigger());
+        } else if (input != null) {
+            keyed.putAll(input);
+            keyed.keySet().removeAll(VOLATILE_INPUT_KEYS);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonicalMapper.writeValueAsBytes(keyed));
+            return node.getCacheScope() + "/" + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a mutable copy of the cached output, or null on a miss.
+     */
+    public Map<String, Object> get(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new HashMap<>(entry.output);
+    }
+
+    public void put(String key, CompiledNode node, Map<String, Object> output) {
+        Duration ttl = node.getDurationConfig("cacheTtl", ChronoUnit.SECONDS);
+        long ttlMillis = ttl != null ? ttl.toMillis() : defaultTtlSeconds * 1000;
+        Entry entry = new Entry(Collections.unmodifiableMap(new HashMap<>(output)), System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+
+    private static class Entry {
+
+        private final Map<String, Object> output;
+        private final long expiresAt;
+
+        Entry(Map<String, Object> output, long expiresAt) {
+            this.output = output;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.workflow.engine;
+
+import com.workflow.exception.ExecutionRejectedException;
+import com.workflow.model.Task;
+import com.workflow.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces the {@code timeout} of parked nodes such as approvals. Deadlines are kept
+ * in the timing wheel and persisted as {@code tasks.due_at} only so the wheel can be
+ * rebuilt on startup; nothing polls the database for expirations.
+ */
+@Component
+public class ParkedNodeDeadlines {
+
+    // How long to wait before retrying an expiry whose execution is busy
+    private static final long RETRY_SECONDS = 5;
+
+    @Autowired
+    private DeadlineTimer deadlineTimer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ExecutionStateStore stateStore;
+
+    // Lazy: the dispatcher depends on the engine, which registers deadlines here
+    @Lazy
+    @Autowired
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    private final Map<Long, TimerWheel.Timeout> timers = new ConcurrentHashMap<>();
+
+    public void schedule(Long taskId, LocalDateTime dueAt) {
+        TimerWheel.Timeout previous = timers.put(taskId, deadlineTimer.scheduleAt(() -> expire(taskId), dueAt));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void cancel(Long taskId) {
+        TimerWheel.Timeout timeout = timers.remove(taskId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Task> parked = taskRepository.findByStatusAndDueAtIsNotNull("WAITING");
+        for (Task task : parked) {
+            schedule(task.getId(), task.getDueAt());
+        }
+        if (!parked.isEmpty()) {
+            System.out.println("Restored " + parked.size() + " parked node deadlines");
+        }
+    }
+
+    private void expire(Long taskId) {
+        timers.remove(taskId);
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null || task.getExecutionId() == null) {
+            return;
+        }
+
+        ExecutionStateStore.ResumeClaim claim = stateStore.claimForResume(taskId, task.getExecutionId());
+        if (claim == ExecutionStateStore.ResumeClaim.TASK_NOT_WAITING) {
+            return; // Decided in the meantime
+        }
+        if (claim == ExecutionStateStore.ResumeClaim.EXECUTION_BUSY) {
+            // Still running (e.g. another branch was just resumed): try again once it settles
+            boolean running = stateStore.find(task.getExecutionId())
+                    .map(execution -> ExecutionStateStore.RUNNING.equals(execution.getStatus()))
+                    .orElse(false);
+            if (running) {
+                schedule(taskId, LocalDateTime.now().plusSeconds(RETRY_SECONDS));
+            }
+            return;
+        }
+
+        try {
+            executionDispatcher.dispatchResume(task.getExecutionId(), task.getWorkflowId(), taskId, null);
+        } catch (ExecutionRejectedException e) {
+            schedule(taskId, LocalDateTime.now().plusSeconds(RETRY_SECONDS));
+        }
+    }
+}
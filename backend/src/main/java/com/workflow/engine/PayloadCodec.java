@@ -0,0 +1,156 @@
+package com.workflow.engine;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.workflow.exception.WorkflowException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes node results and log data for the {@code tasks.result} and
+ * {@code execution_logs.data} columns.
+ *
+ * <p>Plain JSON is stored as is. Anything else is stored as {@code <scheme>:<base64>}
+ * where the scheme names the format ({@code smile}, {@code cbor}) and is prefixed
+ * with {@code gz+} when the payload was gzipped for exceeding the compression
+ * threshold, e.g. {@code gz+json:H4sI...}. Decoding understands every scheme
+ * regardless of the configured format, so the format can be changed at any time.
+ * Values that are none of these (plain messages, rows written with
+ * {@code Map.toString()}) decode to themselves.</p>
+ */
+@Component
+public class PayloadCodec {
+
+    public static final String JSON = "json";
+    public static final String SMILE = "smile";
+    public static final String CBOR = "cbor";
+
+    private static final String GZIP_PREFIX = "gz+";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${workflow.engine.payload.format:json}")
+    private String format;
+
+    // Encoded payloads larger than this are gzipped; 0 disables compression
+    @Value("${workflow.engine.payload.compression-threshold-bytes:4096}")
+    private int compressionThreshold;
+
+    private ObjectMapper smileMapper;
+    private ObjectMapper cborMapper;
+
+    @PostConstruct
+    public void init() {
+        smileMapper = objectMapper.copyWith(new SmileFactory());
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+        mapperFor(format);
+    }
+
+    public String encode(Object value) {
+        try {
+            byte[] bytes = mapperFor(format).writeValueAsBytes(value);
+            boolean compress = compressionThreshold > 0 && bytes.length > compressionThreshold;
+            if (JSON.equals(format) && !compress) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            String scheme = format;
+            if (compress) {
+                bytes = gzip(bytes);
+                scheme = GZIP_PREFIX + format;
+            }
+            return scheme + ":" + Base64.getEncoder().encodeToString(bytes);
+        } catch (IOException e) {
+            // Results are informational; never fail a node because its output cannot be encoded
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * Decodes a stored value to a JSON tree, or returns null if it was not written
+     * by this codec.
+     */
+    public JsonNode decode(String stored) {
+        if (stored == null || stored.isEmpty()) {
+            return null;
+        }
+        try {
+            int colon = stored.indexOf(':');
+            String scheme = colon > 0 ? stored.substring(0, colon) : "";
+            boolean compressed = scheme.startsWith(GZIP_PREFIX);
+            String name = compressed ? scheme.substring(GZIP_PREFIX.length()) : scheme;
+            if (!JSON.equals(name) && !SMILE.equals(name) && !CBOR.equals(name)) {
+                char first = stored.charAt(0);
+                return first == '{' || first == '[' ? objectMapper.readTree(stored) : null;
+            }
+
+            byte[] bytes = Base64.getDecoder().decode(stored.substring(colon + 1));
+            if (compressed) {
+                bytes = gunzip(bytes);
+            }
+            return mapperFor(name).readTree(bytes);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * JSON text for a stored value, for API responses; values not written by this
+     * codec are returned unchanged.
+     */
+    public String toJson(String stored) {
+        if (stored == null || stored.isEmpty() || stored.charAt(0) == '{' || stored.charAt(0) == '[') {
+            return stored;
+        }
+        JsonNode decoded = decode(stored);
+        if (decoded == null) {
+            return stored;
+        }
+        try {
+            return objectMapper.writeValueAsString(decoded);
+        } catch (JsonProcessingException e) {
+            return stored;
+        }
+    }
+
+    private ObjectMapper mapperFor(String name) {
+        switch (name) {
+            case JSON:
+                return objectMapper;
+            case SMILE:
+                return smileMapper;
+            case CBOR:
+                return cborMapper;
+            default:
+                throw new WorkflowException("Unknown payload format '" + name + "', expected json, smile or cbor");
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.workflow.engine;
+
+import com.workflow.exception.ExecutionRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Starts executions registered QUEUED by batch triggers. Every instance drains the
+ * table, claiming rows one at a time, so batches survive restarts and are spread over
+ * the cluster. Workflows are served round-robin, a few executions each per turn, so
+ * a batch of thousands cannot hold back the executions queued for other workflows.
+ */
+@Component
+public class QueuedExecutionDrain {
+
+    private enum Turn { MORE, EXHAUSTED, LANE_FULL, SATURATED }
+
+    @Autowired
+    private ExecutionStateStore stateStore;
+
+    @Autowired
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Value("${workflow.webhook.batch.drain-enabled:true}")
+    private boolean enabled;
+
+    // Executions started per workflow per turn
+    @Value("${workflow.webhook.batch.drain-per-workflow:4}")
+    private int perWorkflow;
+
+    private int rotation;
+
+    @Scheduled(fixedDelayString = "${workflow.webhook.batch.drain-interval-millis:1000}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> workflowIds = new ArrayList<>(stateStore.findQueuedWorkflowIds());
+        if (workflowIds.isEmpty()) {
+            return;
+        }
+        // Start each pass at a different workflow so none is always served first
+        Collections.rotate(workflowIds, -(rotation++ % workflowIds.size()));
+
+        while (!workflowIds.isEmpty()) {
+            for (Iterator<Long> it = workflowIds.iterator(); it.hasNext(); ) {
+                Turn turn = drain(it.next());
+                if (turn == Turn.SATURATED) {
+                    return; // Nothing more fits; the next pass continues
+                }
+                if (turn != Turn.MORE) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private Turn drain(Long workflowId) {
+        List<String> executionIds = stateStore.findQueued(workflowId, perWorkflow);
+        for (String executionId : executionIds) {
+            if (!stateStore.claimQueued(executionId)) {
+                continue; // Another instance started it
+            }
+            try {
+                executionDispatcher.dispatchQueued(executionId, workflowId);
+            } catch (ExecutionRejectedException e) {
+                stateStore.releaseQueued(executionId);
+                return e.getStatus() == HttpStatus.TOO_MANY_REQUESTS ? Turn.LANE_FULL : Turn.SATURATED;
+            }
+        }
+        return executionIds.size() < perWorkflow ? Turn.EXHAUSTED : Turn.MORE;
+    }
+}
@@ -0,0 +1,110 @@
+package com.workflow.engine;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy of a node, read from the {@code retry} object of its configuration:
+ *
+ * <pre>
+ * "retry": {"maxAttempts": 5, "backoff": "500ms", "multiplier": 2, "maxBackoff": "30s",
+ *           "jitter": 0.2, "retryOn": ["WorkflowException", "java.io.IOException"]}
+ * </pre>
+ *
+ * Attempts include the first one. {@code retryOn} names exception classes, simple or
+ * fully qualified, matched against the error, its superclasses and its causes; when
+ * omitted every error is retried.
+ */
+public class RetryPolicy {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, 1.0, Duration.ZERO, 0.0,
+            Collections.emptyList());
+
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final double multiplier;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final List<String> retryOn;
+
+    public RetryPolicy(int maxAttempts, Duration backoff, double multiplier, Duration maxBackoff, double jitter,
+                       List<String> retryOn) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+        this.multiplier = Math.max(1.0, multiplier);
+        this.maxBackoff = maxBackoff;
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+        this.retryOn = retryOn;
+    }
+
+    static RetryPolicy fromConfig(Object value) {
+        if (!(value instanceof Map<?, ?> retry)) {
+            return NONE;
+        }
+
+        int maxAttempts = retry.get("maxAttempts") instanceof Number number ? number.intValue() : 3;
+        Duration backoff = orDefault(CompiledNode.parseDuration(retry.get("backoff"), ChronoUnit.MILLIS), Duration.ofSeconds(1));
+        double multiplier = retry.get("multiplier") instanceof Number number ? number.doubleValue() : 2.0;
+        Duration maxBackoff = orDefault(CompiledNode.parseDuration(retry.get("maxBackoff"), ChronoUnit.MILLIS), Duration.ofMinutes(1));
+        double jitter = retry.get("jitter") instanceof Number number ? number.doubleValue() : 0.2;
+
+        List<String> retryOn = new ArrayList<>();
+        if (retry.get("retryOn") instanceof List<?> names) {
+            for (Object name : names) {
+                retryOn.add(String.valueOf(name));
+            }
+        }
+        return new RetryPolicy(maxAttempts, backoff, multiplier, maxBackoff, jitter, Collections.unmodifiableList(retryOn));
+    }
+
+    private static Duration orDefault(Duration value, Duration defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Whether a node that failed on {@code attempt} (1-based) with {@code error} should run again.
+     */
+    public boolean shouldRetry(int attempt, Throwable error) {
+        return attempt < maxAttempts && isRetryable(error);
+    }
+
+    /**
+     * Delay before the attempt following {@code attempt}: exponential backoff capped at
+     * maxBackoff, spread by +/- jitter so retries of many runs do not fire in lockstep.
+     */
+    public long backoffMillis(int attempt) {
+        double delay = backoff.toMillis() * Math.pow(multiplier, attempt - 1);
+        delay = Math.min(delay, maxBackoff.toMillis());
+        if (jitter > 0) {
+            delay *= 1 + jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        }
+        return Math.max(0, (long) delay);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    private boolean isRetryable(Throwable error) {
+        if (retryOn.isEmpty()) {
+            return true;
+        }
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof CompletionException) {
+                continue;
+            }
+            for (Class<?> type = current.getClass(); type != null; type = type.getSuperclass()) {
+                if (retryOn.contains(type.getSimpleName()) || retryOn.contains(type.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
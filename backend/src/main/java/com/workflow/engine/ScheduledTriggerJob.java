@@ -0,0 +1,45 @@
+package com.workflow.engine;
+
+import com.workflow.exception.ExecutionRejectedException;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fired by Quartz for a schedule trigger node. It only hands the execution to the
+ * dispatcher, so Quartz threads are free again immediately and schedules keep
+ * firing on time however long the workflows run.
+ */
+public class ScheduledTriggerJob extends QuartzJobBean {
+
+    public static final String WORKFLOW_ID = "workflowId";
+    public static final String NODE_ID = "nodeId";
+
+    @Autowired
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        JobDataMap data = context.getMergedJobDataMap();
+        Long workflowId = data.getLong(WORKFLOW_ID);
+        String nodeId = data.getString(NODE_ID);
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("triggerType", "schedule");
+        payload.put("nodeId", nodeId);
+        payload.put("scheduledFireTime", context.getScheduledFireTime().toInstant().toString());
+        payload.put("fireTime", context.getFireTime().toInstant().toString());
+
+        try {
+            // The run starts at the schedule node that fired, not the workflow's first trigger
+            executionDispatcher.dispatch(workflowId, nodeId, payload);
+        } catch (ExecutionRejectedException e) {
+            // Skipping one firing beats piling up behind a saturated dispatcher
+            System.err.println("Skipped scheduled run of workflow " + workflowId + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.workflow.engine;
+
+import com.workflow.exception.WorkflowException;
+import com.workflow.model.Workflow;
+import org.quartz.CronExpression;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps the Quartz jobs of schedule trigger nodes in line with workflow activation.
+ * Each active workflow with schedule triggers owns one durable job with one Quartz
+ * trigger per node, configured by {@code cronExpression} or {@code interval}.
+ */
+@Component
+public class ScheduledTriggerRegistry {
+
+    private static final String GROUP = "workflow-schedules";
+
+    @Autowired
+    private Scheduler scheduler;
+
+    @Autowired
+    private WorkflowGraphCache graphCache;
+
+    /**
+     * Replaces the schedules of a workflow with the ones its trigger nodes declare.
+     */
+    public void register(Workflow workflow) {
+        JobKey jobKey = jobKey(workflow.getId());
+        JobDetail job = JobBuilder.newJob(ScheduledTriggerJob.class)
+                .withIdentity(jobKey)
+                .usingJobData(ScheduledTriggerJob.WORKFLOW_ID, workflow.getId())
+                .storeDurably()
+                .requestRecovery()
+                .build();
+
+        Set<Trigger> triggers = new HashSet<>();
+        for (CompiledNode node : graphCache.getCompiledWorkflow(workflow).getNodes()) {
+            if ("trigger".equals(node.getType()) && "schedule".equals(node.getConfig().get("triggerType"))) {
+                triggers.add(buildTrigger(workflow.getId(), node, job));
+            }
+        }
+
+        try {
+            if (triggers.isEmpty()) {
+                scheduler.deleteJob(jobKey);
+            } else {
+                scheduler.scheduleJob(job, triggers, true);
+            }
+        } catch (SchedulerException e) {
+            throw new WorkflowException("Failed to schedule workflow " + workflow.getId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    public void unregister(Long workflowId) {
+        try {
+            scheduler.deleteJob(jobKey(workflowId));
+        } catch (SchedulerException e) {
+            throw new WorkflowException("Failed to unschedule workflow " + workflowId + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Trigger buildTrigger(Long workflowId, CompiledNode node, JobDetail job) {
+        TriggerBuilder<Trigger> builder = TriggerBuilder.newTrigger()
+                .withIdentity("workflow-" + workflowId + "-" + node.getNodeId(), GROUP)
+                .forJob(job)
+                .usingJobData(ScheduledTriggerJob.NODE_ID, node.getNodeId());
+
+        Object cron = node.getConfig().get("cronExpression");
+        if (cron instanceof String && !((String) cron).isBlank()) {
+            if (!CronExpression.isValidExpression((String) cron)) {
+                throw new WorkflowException("Invalid cron expression on node " + node.getNodeId() + ": " + cron);
+            }
+            // A missed cron firing runs once as soon as possible, then the schedule continues
+            return builder.withSchedule(CronScheduleBuilder.cronSchedule((String) cron)
+                    .withMisfireHandlingInstructionFireAndProceed()).build();
+        }
+
+        Duration interval = node.getDurationConfig("interval", ChronoUnit.SECONDS);
+        if (interval == null || interval.toMillis() < 1000) {
+            throw new WorkflowException("Schedule trigger " + node.getNodeId() + " needs a cronExpression or an interval of at least 1s");
+        }
+        // Missed interval firings are dropped rather than replayed in a burst
+        return builder.startAt(Date.from(Instant.now().plus(interval)))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(interval.toMillis())
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+    }
+
+    private JobKey jobKey(Long workflowId) {
+        return JobKey.jobKey("workflow-" + workflowId, GROUP);
+    }
+}
@@ -0,0 +1,253 @@
+package com.workflow.engine;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel. Scheduling and cancelling are O(1): a timeout is hashed into
+ * the bucket of the tick it expires on, and a bucket only looks at its own entries
+ * when the wheel turns past it. Deadlines further away than one revolution carry a
+ * round counter. Precision is one tick, which is plenty for timeouts measured in
+ * seconds to days, and the memory cost is one small object per pending deadline.
+ *
+ * <p>All bucket state is owned by the single ticker thread; other threads only
+ * hand over new and cancelled timeouts through lock-free queues. Expired tasks run
+ * on the supplied executor, never on the ticker.</p>
+ */
+public class TimerWheel {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread ticker;
+    private final long startTime;
+    private volatile boolean running = true;
+    private long tick;
+
+    public TimerWheel(String name, long tickMillis, int ticksPerWheel, Executor executor) {
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tickMillis));
+        // Round up to a power of two so the bucket index is a mask instead of a modulo
+        int size = Integer.highestOneBit(Math.max(2, ticksPerWheel) - 1) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+        this.startTime = System.nanoTime();
+        this.ticker = new Thread(this::run, name);
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Runs {@code task} once {@code delayMillis} have passed. Non-positive delays fire
+     * on the next tick.
+     */
+    public Timeout schedule(Runnable task, long delayMillis) {
+        long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        Timeout timeout = new Timeout(this, task, deadline);
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Approximate number of pending timeouts, for monitoring.
+     */
+    public int pending() {
+        return added.size() + countBuckets();
+    }
+
+    public void stop() {
+        running = false;
+        ticker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                return;
+            }
+            Bucket bucket = wheel[(int) (tick & mask)];
+            removeCancelled();
+            transferAdded();
+            bucket.expire(deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return deadline;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferAdded() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = added.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.PENDING) {
+                continue;
+            }
+
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // Deadlines already behind the wheel go into the current bucket
+            long targetTick = Math.max(expiryTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private int countBuckets() {
+        int count = 0;
+        for (Bucket bucket : wheel) {
+            count += bucket.size;
+        }
+        return count;
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to run expired timer task: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Owned by the ticker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(TimerWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Returns true if the task will no longer run.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    // Intrusive doubly linked list, so removal needs no search
+    private final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+        private int size;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+            size++;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+            size--;
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline > deadline) {
+                        added.add(timeout); // Not due yet after all, place it again
+                    } else if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                        fire(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
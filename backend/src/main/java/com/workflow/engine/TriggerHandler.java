@@ -28,8 +28,7 @@ public class TriggerHandler {
     }
 
     private boolean handleScheduleTrigger(Map<String, Object> data) {
-        // Check if it's time to trigger based on schedule
-        // For demo purposes, always return true
+        // Schedules are fired by Quartz, see ScheduledTriggerRegistry; a firing is always valid
         return true;
     }
 
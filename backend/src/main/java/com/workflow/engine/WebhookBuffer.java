@@ -0,0 +1,179 @@
+package com.workflow.engine;
+
+import com.workflow.exception.ExecutionRejectedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory buffer between webhook endpoints and the execution dispatcher.
+ *
+ * <p>Accepting a trigger only costs an offer into the buffer, so webhook callers are
+ * answered immediately regardless of how long workflows run or how busy the
+ * dispatcher is. Drain threads feed buffered triggers to the dispatcher. A trigger
+ * the dispatcher rejects goes back into the buffer with a not-before time instead
+ * of holding its drain thread, and a workflow whose lane is full is skipped until
+ * then, so one saturated workflow never holds up the triggers of the others.</p>
+ */
+@Component
+public class WebhookBuffer {
+
+    @Autowired
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Value("${workflow.webhook.buffer.capacity:10000}")
+    private int capacity;
+
+    @Value("${workflow.webhook.buffer.drain-threads:2}")
+    private int drainThreads;
+
+    // Ordered by not-before time, then arrival; new triggers are eligible at once
+    private final DelayQueue<BufferedTrigger> buffer = new DelayQueue<>();
+
+    // Bounds the buffer, deferred triggers included
+    private Semaphore slots;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Workflows whose lane rejected a trigger, with the time (System.nanoTime) to try again
+    private final Map<Long, Long> backedOff = new ConcurrentHashMap<>();
+
+    // Tickets accepted but not yet handed to the dispatcher, for status queries
+    private final Map<String, ExecutionRecord> pending = new ConcurrentHashMap<>();
+
+    private final List<Thread> drainers = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    @PostConstruct
+    public void init() {
+        slots = new Semaphore(capacity);
+        for (int i = 1; i <= drainThreads; i++) {
+            Thread thread = new Thread(this::drain, "webhook-drain-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            drainers.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        drainers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Buffers a trigger and returns its ticket, which is also the ID the execution
+     * will run under.
+     */
+    public ExecutionRecord enqueue(Long workflowId, Map<String, Object> payload) {
+        if (!slots.tryAcquire()) {
+            throw new ExecutionRejectedException("Webhook buffer is full, try again later", 1);
+        }
+        ExecutionRecord record = new ExecutionRecord(UUID.randomUUID().toString(), workflowId);
+        pending.put(record.getExecutionId(), record);
+        buffer.add(new BufferedTrigger(record, payload, sequence.incrementAndGet()));
+        return record;
+    }
+
+    public Optional<ExecutionRecord> getPending(String executionId) {
+        return Optional.ofNullable(pending.get(executionId));
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    private void drain() {
+        while (running) {
+            try {
+                dispatch(buffer.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatch(BufferedTrigger trigger) {
+        Long workflowId = trigger.record.getWorkflowId();
+        Long until = backedOff.get(workflowId);
+        if (until != null) {
+            if (until - System.nanoTime() > 0) {
+                defer(trigger, until);
+                return;
+            }
+            backedOff.remove(workflowId, until);
+        }
+
+        try {
+            executionDispatcher.dispatch(trigger.record, trigger.payload);
+            settled(trigger);
+        } catch (ExecutionRejectedException e) {
+            long retryAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, e.getRetryAfterSeconds()));
+            // A full lane turns away every trigger of its workflow until then, not just this one
+            if (e.getStatus() == HttpStatus.TOO_MANY_REQUESTS) {
+                backedOff.put(workflowId, retryAt);
+            }
+            defer(trigger, retryAt);
+        } catch (RuntimeException e) {
+            settled(trigger);
+            trigger.record.markFailed(e.getMessage());
+            System.err.println("Failed to dispatch buffered trigger " + trigger.record.getExecutionId() + ": " + e.getMessage());
+        }
+    }
+
+    private void defer(BufferedTrigger trigger, long notBefore) {
+        trigger.notBefore = notBefore;
+        buffer.add(trigger);
+    }
+
+    private void settled(BufferedTrigger trigger) {
+        pending.remove(trigger.record.getExecutionId());
+        slots.release();
+    }
+
+    private static class BufferedTrigger implements Delayed {
+
+        private final ExecutionRecord record;
+        private final Map<String, Object> payload;
+        private final long sequence;
+
+        // System.nanoTime before which the trigger is not handed to the dispatcher
+        private long notBefore;
+
+        BufferedTrigger(ExecutionRecord record, Map<String, Object> payload, long sequence) {
+            this.record = record;
+            this.payload = payload;
+            this.sequence = sequence;
+            this.notBefore = System.nanoTime();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(notBefore - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            BufferedTrigger that = (BufferedTrigger) other;
+            int byTime = Long.compare(notBefore - that.notBefore, 0);
+            return byTime != 0 ? byTime : Long.compare(sequence, that.sequence);
+        }
+    }
+}
@@ -1,17 +1,34 @@
 package com.workflow.engine;
 
+import com.workflow.engine.expression.ConstantExpression;
+import com.workflow.engine.expression.Expression;
+import com.workflow.engine.handler.NodeHandler;
+import com.workflow.exception.WorkflowException;
 import com.workflow.model.Workflow;
 import com.workflow.model.WorkflowNode;
 import com.workflow.model.Task;
 import com.workflow.model.ExecutionLog;
 import com.workflow.repository.TaskRepository;
-import com.workflow.repository.ExecutionLogRepository;
 import com.workflow.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Component
 public class WorkflowEngine {
@@ -23,159 +40,569 @@ public class WorkflowEngine {
     private TaskRepository taskRepository;
 
     @Autowired
-    private ExecutionLogRepository executionLogRepository;
+    private ExecutionLogWriter executionLogWriter;
 
     @Autowired
     private NotificationService notificationService;
 
-    public void executeWorkflow(Workflow workflow, Map<String, Object> payload) {
+    @Autowired
+    private ExecutionStateStore stateStore;
+
+    @Autowired
+    private DeadlineTimer deadlineTimer;
+
+    @Autowired
+    private ParkedNodeDeadlines parkedDeadlines;
+
+    @Autowired
+    private PayloadCodec payloadCodec;
+
+    @Value("${workflow.engine.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    @Value("${workflow.engine.parallel.max-branches:8}")
+    private int parallelMaxBranches;
+
+    @Value("${workflow.engine.worker-threads:8}")
+    private int workerThreads;
+
+    @Value("${workflow.engine.max-node-visits:1000}")
+    private int maxNodeVisits;
+
+    @Value("${workflow.engine.max-loop-iterations:10}")
+    private int maxLoopIterations;
+
+    @Value("${workflow.engine.checkpoint.enabled:true}")
+    private boolean checkpointEnabled;
+
+    // Applies node completions (task updates, edge routing); node handlers never block it
+    private ExecutorService workerExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        workerExecutor = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "workflow-engine-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerExecutor.shutdown();
+    }
+
+    /**
+     * Starts an execution and returns as soon as its first node is launched; the
+     * future settles when the run completes or suspends. No transaction should be
+     * open: every task update, log entry and checkpoint commits on its own, so no
+     * database connection is held while nodes run. The graph must have been compiled
+     * while the workflow's lazy collections were still readable. A null start node ID
+     * starts from the workflow's default trigger node.
+     */
+    public CompletableFuture<ExecutionRun.Outcome> executeWorkflow(String executionId, Workflow workflow,
+                                                                   CompiledWorkflow graph, String startNodeId,
+                                                                   Map<String, Object> payload) {
+        stateStore.started(executionId, workflow.getId());
+        recordStart(executionId, workflow, payload);
+
+        try {
+            // Find start node (trigger node)
+            CompiledNode startNode = startNodeId != null ? graph.getNode(startNodeId) : graph.getStartNode();
+
+            if (startNode == null) {
+                throw new RuntimeException(startNodeId != null
+                        ? "Trigger node " + startNodeId + " not found in workflow"
+                        : "No trigger node found in workflow");
+            }
+
+            // Execute workflow starting from trigger node
+            ExecutionRun run = new ExecutionRun(executionId, workflow, graph, new ExecutionContext(payload));
+            run.setStartNodeId(startNode.getNodeId());
+            run.post(() -> {
+                run.getFrontier().add(new NodeActivation(startNode, payload));
+                checkpoint(run);
+                schedule(run);
+            });
+            return finish(run);
+        } catch (Exception e) {
+            recordFailure(executionId, workflow, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts an execution that was registered QUEUED and has been claimed by this
+     * instance, see {@link ExecutionStateStore#claimQueued}. Its checkpoint holds the
+     * start node and the trigger payload.
+     */
+    public CompletableFuture<ExecutionRun.Outcome> startQueuedWorkflow(String executionId, Workflow workflow,
+                                                                       CompiledWorkflow graph) {
+        return continueFromCheckpoint(executionId, workflow, graph,
+                run -> recordStart(executionId, workflow, run.getContext().getTrigger()));
+    }
+
+    /**
+     * Resumes a suspended execution with the outcome of one of its parked tasks, or
+     * with a null result when the task's timeout expired. The caller must have claimed
+     * the execution, see {@link ExecutionStateStore#claimForResume}.
+     */
+    public CompletableFuture<ExecutionRun.Outcome> resumeWorkflow(String executionId, Workflow workflow,
+                                                                  CompiledWorkflow graph, Long taskId,
+                                                                  Map<String, Object> result) {
+        return continueFromCheckpoint(executionId, workflow, graph, run -> resumeParkedNode(run, taskId, result));
+    }
+
+    /**
+     * Continues an execution that was running when its JVM went away, starting from
+     * its last checkpoint. Nodes that were in flight at that point run again.
+     */
+    public CompletableFuture<ExecutionRun.Outcome> recoverWorkflow(String executionId, Workflow workflow,
+                                                                   CompiledWorkflow graph) {
+        ExecutionLog recoveryLog = new ExecutionLog();
+        recoveryLog.setWorkflowId(workflow.getId());
+        recoveryLog.setExecutionId(executionId);
+        recoveryLog.setStatus("RECOVERED");
+        recoveryLog.setMessage("Workflow execution resumed from its last checkpoint");
+        recoveryLog.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(recoveryLog);
+
+        return continueFromCheckpoint(executionId, workflow, graph, run -> { });
+    }
+
+    private CompletableFuture<ExecutionRun.Outcome> continueFromCheckpoint(String executionId, Workflow workflow,
+                                                                           CompiledWorkflow graph,
+                                                                           Consumer<ExecutionRun> firstEvent) {
+        try {
+            ExecutionRun run = stateStore.restore(executionId, workflow, graph);
+            run.post(() -> {
+                firstEvent.accept(run);
+                checkpoint(run);
+                schedule(run);
+            });
+            return finish(run);
+        } catch (Exception e) {
+            recordFailure(executionId, workflow, e);
+            throw e;
+        }
+    }
+
+    // No thread waits for the run; whichever thread settles it does the bookkeeping
+    private CompletableFuture<ExecutionRun.Outcome> finish(ExecutionRun run) {
+        return run.getCompletion().handle((outcome, error) -> {
+            RuntimeException failure = error != null ? unwrap(error) : null;
+            if (failure == null) {
+                try {
+                    return settle(run, outcome);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            // The execution belongs to whoever took it over; leave its row and history alone
+            if (!(failure instanceof LeaseLostException)) {
+                recordFailure(run.getExecutionId(), run.getWorkflow(), failure);
+            }
+            throw failure;
+        });
+    }
+
+    private ExecutionRun.Outcome settle(ExecutionRun run, ExecutionRun.Outcome outcome) {
+        Workflow workflow = run.getWorkflow();
+
+        if (outcome == ExecutionRun.Outcome.SUSPENDED) {
+            // Nothing but parked nodes left: persist the run and let go of it
+            stateStore.suspended(run);
+
+            ExecutionLog waitLog = new ExecutionLog();
+            waitLog.setWorkflowId(workflow.getId());
+            waitLog.setExecutionId(run.getExecutionId());
+            waitLog.setStatus("WAITING");
+            waitLog.setMessage("Workflow execution suspended, waiting for external input");
+            waitLog.setCreatedAt(LocalDateTime.now());
+            executionLogWriter.append(waitLog);
+
+            notificationService.sendWorkflowNotification("WORKFLOW_WAITING", Map.of(
+                "workflowId", workflow.getId(),
+                "workflowName", workflow.getName(),
+                "executionId", run.getExecutionId()
+            ));
+            return outcome;
+        }
+
+        stateStore.finished(run.getExecutionId(), ExecutionStateStore.COMPLETED, null);
+
+        // Log workflow execution completion
+        ExecutionLog endLog = new ExecutionLog();
+        endLog.setWorkflowId(workflow.getId());
+        endLog.setExecutionId(run.getExecutionId());
+        endLog.setStatus("COMPLETED");
+        endLog.setMessage("Workflow execution completed successfully");
+        endLog.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(endLog);
+
+        // Send completion notification
+        notificationService.sendWorkflowNotification("WORKFLOW_COMPLETED", Map.of(
+            "workflowId", workflow.getId(),
+            "workflowName", workflow.getName(),
+            "executionId", run.getExecutionId()
+        ));
+        return outcome;
+    }
+
+    private void recordStart(String executionId, Workflow workflow, Map<String, Object> payload) {
         // Log workflow execution start
         ExecutionLog startLog = new ExecutionLog();
         startLog.setWorkflowId(workflow.getId());
+        startLog.setExecutionId(executionId);
         startLog.setStatus("STARTED");
         startLog.setMessage("Workflow execution started");
         startLog.setCreatedAt(LocalDateTime.now());
         if (payload != null) {
-            startLog.setData(payload.toString());
+            startLog.setData(serialize(payload));
         }
-        executionLogRepository.save(startLog);
+        executionLogWriter.append(startLog);
 
         // Send notification
         notificationService.sendWorkflowNotification("WORKFLOW_STARTED", Map.of(
             "workflowId", workflow.getId(),
-            "workflowName", workflow.getName()
+            "workflowName", workflow.getName(),
+            "executionId", executionId
         ));
+    }
 
-        try {
-            // Find start node (trigger node)
-            WorkflowNode startNode = workflow.getNodes().stream()
-                    .filter(node -> "trigger".equals(node.getType()))
-                    .findFirst()
-                    .orElse(null);
+    private void recordFailure(String executionId, Workflow workflow, Exception e) {
+        stateStore.finished(executionId, ExecutionStateStore.FAILED, e.getMessage());
 
-            if (startNode == null) {
-                throw new RuntimeException("No trigger node found in workflow");
+        // Log workflow execution error
+        ExecutionLog errorLog = new ExecutionLog();
+        errorLog.setWorkflowId(workflow.getId());
+        errorLog.setExecutionId(executionId);
+        errorLog.setStatus("FAILED");
+        errorLog.setMessage("Workflow execution failed: " + e.getMessage());
+        errorLog.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(errorLog);
+
+        // Send error notification
+        notificationService.sendWorkflowNotification("WORKFLOW_FAILED", Map.of(
+            "workflowId", workflow.getId(),
+            "workflowName", workflow.getName(),
+            "executionId", executionId,
+            "error", String.valueOf(e.getMessage())
+        ));
+    }
+
+    // Scheduling and edge resolution only run on the execution's event loop, see ExecutionRun#post
+
+    private void schedule(ExecutionRun run) {
+        int maxInFlight = parallelEnabled ? parallelMaxBranches : 1;
+        while (run.getFailure() == null && !run.getFrontier().isEmpty() && run.getInFlight() < maxInFlight) {
+            NodeActivation activation = run.getFrontier().poll();
+            if (run.incrementVisits() > maxNodeVisits) {
+                run.fail(new WorkflowException("Workflow execution exceeded the budget of " + maxNodeVisits + " node visits"));
+                return;
             }
 
-            // Execute workflow starting from trigger node
-            executeFromNode(workflow, startNode, payload);
-
-            // Log workflow execution completion
-            ExecutionLog endLog = new ExecutionLog();
-            endLog.setWorkflowId(workflow.getId());
-            endLog.setStatus("COMPLETED");
-            endLog.setMessage("Workflow execution completed successfully");
-            endLog.setCreatedAt(LocalDateTime.now());
-            executionLogRepository.save(endLog);
-
-            // Send completion notification
-            notificationService.sendWorkflowNotification("WORKFLOW_COMPLETED", Map.of(
-                "workflowId", workflow.getId(),
-                "workflowName", workflow.getName()
-            ));
+            Task task = startTask(run, activation.getNode());
+            launch(run, activation, task);
+        }
 
-        } catch (Exception e) {
-            // Log workflow execution error
-            ExecutionLog errorLog = new ExecutionLog();
-            errorLog.setWorkflowId(workflow.getId());
-            errorLog.setStatus("FAILED");
-            errorLog.setMessage("Workflow execution failed: " + e.getMessage());
-            errorLog.setCreatedAt(LocalDateTime.now());
-            executionLogRepository.save(errorLog);
-
-            // Send error notification
-            notificationService.sendWorkflowNotification("WORKFLOW_FAILED", Map.of(
-                "workflowId", workflow.getId(),
-                "workflowName", workflow.getName(),
-                "error", e.getMessage()
-            ));
+        if (run.getInFlight() == 0 && (run.getFailure() != null || run.getFrontier().isEmpty())) {
+            run.complete();
+        }
+    }
 
-            throw e;
+    private void launch(ExecutionRun run, NodeActivation activation, Task task) {
+        run.nodeStarted(task.getId(), activation);
+        CompletableFuture<Map<String, Object>> execution = nodeExecutor
+                .executeNodeAsync(activation.getNode(), run.getContext().scope(activation.getInput())).toCompletableFuture();
+        armTimeout(activation.getNode(), execution);
+        execution.whenCompleteAsync((result, error) ->
+                run.post(() -> onNodeFinished(run, activation, task, result, error)), workerExecutor);
+    }
+
+    private void onNodeFinished(ExecutionRun run, NodeActivation activation, Task task,
+                                Map<String, Object> result, Throwable error) {
+        if (error != null && run.getFailure() == null
+                && activation.getNode().getRetryPolicy().shouldRetry(activation.getAttempt(), error)) {
+            // The node stays in flight while it backs off, so the run cannot complete under it
+            scheduleRetry(run, activation, task, unwrap(error));
+            return;
+        }
+
+        run.nodeFinished(task.getId());
+        if (error != null) {
+            RuntimeException failure = unwrap(error);
+            failTask(run, task, failure);
+            run.fail(failure);
+        } else if (NodeHandler.STATUS_WAITING.equals(result.get("status"))) {
+            Duration timeout = activation.getNode().getDurationConfig("timeout", ChronoUnit.HOURS);
+            if (timeout != null) {
+                task.setDueAt(LocalDateTime.now().plus(timeout));
+            }
+            parkTask(run, task, result);
+            run.park(task.getId(), task.getNodeId());
+            if (task.getDueAt() != null) {
+                parkedDeadlines.schedule(task.getId(), task.getDueAt());
+            }
+        } else {
+            completeTask(run, task, result);
+            run.getContext().recordOutput(task.getNodeId(), result);
+            if (run.getFailure() == null) {
+                resolveOutgoing(run, activation.getNode(), result);
+            }
+        }
+        checkpoint(run);
+        schedule(run);
+    }
+
+    private void checkpoint(ExecutionRun run) {
+        if (checkpointEnabled && run.getFailure() == null && !stateStore.checkpoint(run)) {
+            run.fail(new LeaseLostException(run.getExecutionId()));
+        }
+    }
+
+    private void scheduleRetry(ExecutionRun run, NodeActivation activation, Task task, RuntimeException error) {
+        long delay = activation.getNode().getRetryPolicy().backoffMillis(activation.getAttempt());
+
+        task.setStatus("RETRYING");
+        task.setResult("Attempt " + activation.getAttempt() + " failed: " + error.getMessage());
+        taskRepository.save(task);
+
+        ExecutionLog retryLog = new ExecutionLog();
+        retryLog.setWorkflowId(run.getWorkflow().getId());
+        retryLog.setExecutionId(run.getExecutionId());
+        retryLog.setTaskId(task.getId());
+        retryLog.setNodeId(task.getNodeId());
+        retryLog.setStatus("RETRYING");
+        retryLog.setMessage("Attempt " + activation.getAttempt() + " of "
+                + activation.getNode().getRetryPolicy().getMaxAttempts() + " failed, retrying in " + delay + "ms: " + error.getMessage());
+        retryLog.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(retryLog);
+
+        // No thread waits out the backoff; the timer posts the retry back onto the run
+        deadlineTimer.schedule(() -> run.post(() -> retryNode(run, activation.nextAttempt(), task, error)),
+                Duration.ofMillis(delay));
+    }
+
+    private void retryNode(ExecutionRun run, NodeActivation activation, Task task, RuntimeException lastError) {
+        if (run.getFailure() != null) {
+            // Another branch failed during the backoff; give up with the last error
+            run.nodeFinished(task.getId());
+            failTask(run, task, lastError);
+            schedule(run);
+            return;
         }
+
+        task.setStatus("RUNNING");
+        taskRepository.save(task);
+        launch(run, activation, task);
     }
 
-    private void executeFromNode(Workflow workflow, WorkflowNode node, Map<String, Object> payload) {
+    private void resumeParkedNode(ExecutionRun run, Long taskId, Map<String, Object> result) {
+        String nodeId = run.unpark(taskId);
+        if (nodeId == null) {
+            throw new WorkflowException("Task " + taskId + " is not waiting in execution " + run.getExecutionId());
+        }
+        parkedDeadlines.cancel(taskId);
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new WorkflowException("Task not found with id: " + taskId));
+        CompiledNode node = run.getGraph().getNode(nodeId);
+        if (result == null) {
+            // The node's timeout expired; its handler decides the outcome, if any
+            result = nodeExecutor.timeoutResult(node);
+            if (result == null) {
+                WorkflowException timedOut = new WorkflowException("Node " + nodeId + " timed out waiting to be resumed");
+                failTask(run, task, timedOut);
+                run.fail(timedOut);
+                return;
+            }
+        }
+        completeTask(run, task, result);
+        run.getContext().recordOutput(nodeId, result);
+        resolveOutgoing(run, node, result);
+    }
+
+    // Fails a node that runs longer than its "timeout"; parked nodes are covered by ParkedNodeDeadlines
+    private void armTimeout(CompiledNode node, CompletableFuture<Map<String, Object>> execution) {
+        Duration timeout = node.getDurationConfig("timeout", ChronoUnit.HOURS);
+        if (timeout == null || execution.isDone()) {
+            return;
+        }
+        TimerWheel.Timeout timer = deadlineTimer.schedule(() -> execution.completeExceptionally(
+                new WorkflowException("Node " + node.getNodeId() + " timed out after " + timeout)), timeout);
+        execution.whenComplete((result, error) -> timer.cancel());
+    }
+
+    private RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtime ? runtime : new WorkflowException(cause.getMessage(), cause);
+    }
+
+    private void resolveOutgoing(ExecutionRun run, CompiledNode node, Map<String, Object> result) {
+        Deque<CompiledNode> skipped = new ArrayDeque<>();
+        for (CompiledEdge edge : node.getOutgoing()) {
+            boolean fired = shouldExecuteEdge(edge, run.getContext().scope(result));
+            if (edge.isBackEdge()) {
+                if (fired) {
+                    loopBack(run, edge, result);
+                }
+            } else {
+                arrive(run, node, edge.getTarget(), fired, result, skipped);
+            }
+        }
+
+        // A skipped node resolves all of its outgoing edges as not taken, so joins
+        // downstream of an untaken branch do not wait for it forever
+        while (!skipped.isEmpty()) {
+            CompiledNode skippedNode = skipped.pop();
+            for (CompiledEdge next : skippedNode.getOutgoing()) {
+                if (!next.isBackEdge()) {
+                    arrive(run, skippedNode, next.getTarget(), false, null, skipped);
+                }
+            }
+        }
+    }
+
+    private void arrive(ExecutionRun run, CompiledNode source, CompiledNode target, boolean fired,
+                        Map<String, Object> output, Deque<CompiledNode> skipped) {
+        if (!target.isJoin()) {
+            if (fired) {
+                run.getFrontier().add(new NodeActivation(target, output));
+            } else {
+                skipped.push(target);
+            }
+            return;
+        }
+
+        JoinBarrier barrier = run.getJoins().computeIfAbsent(target.getNodeId(), id -> run.newJoin(target));
+        if (barrier.arrive(source.getNodeId(), fired, output)) {
+            run.getJoins().remove(target.getNodeId());
+            if (barrier.hasInput()) {
+                run.getFrontier().add(new NodeActivation(target, barrier.mergedInput()));
+            } else {
+                skipped.push(target);
+            }
+        }
+    }
+
+    private void loopBack(ExecutionRun run, CompiledEdge edge, Map<String, Object> result) {
+        CompiledNode header = edge.getTarget();
+        int limit = header.getIntConfig("maxIterations", maxLoopIterations);
+        if (run.nextLoopIteration(header.getNodeId()) > limit) {
+            ExecutionLog limitLog = new ExecutionLog();
+            limitLog.setWorkflowId(run.getWorkflow().getId());
+            limitLog.setExecutionId(run.getExecutionId());
+            limitLog.setNodeId(header.getNodeId());
+            limitLog.setStatus("LOOP_LIMIT");
+            limitLog.setMessage("Loop limit of " + limit + " iterations reached, not re-entering node " + header.getNodeId());
+            limitLog.setCreatedAt(LocalDateTime.now());
+            executionLogWriter.append(limitLog);
+            return;
+        }
+
+        run.resetJoins(edge.getLoopBody());
+        run.getFrontier().add(new NodeActivation(header, result));
+    }
+
+    private Task startTask(ExecutionRun run, CompiledNode compiledNode) {
+        WorkflowNode node = compiledNode.getNode();
+
         // Create and save task for this node
         Task task = new Task();
         task.setName(node.getLabel());
         task.setType(node.getType());
-        task.setWorkflowId(workflow.getId());
+        task.setWorkflowId(run.getWorkflow().getId());
+        task.setExecutionId(run.getExecutionId());
         task.setNodeId(node.getNodeId());
         task.setConfiguration(node.getConfiguration());
         task.setStatus("RUNNING");
         task.setCreatedAt(LocalDateTime.now());
         task.setStartedAt(LocalDateTime.now());
-        task = taskRepository.save(task);
+        return taskRepository.save(task);
+    }
 
-        try {
-            // Execute node
-            Map<String, Object> result = nodeExecutor.executeNode(node, payload);
-            
-            // Update task with result
-            task.setStatus("COMPLETED");
-            task.setResult(result.toString());
-            task.setCompletedAt(LocalDateTime.now());
-            taskRepository.save(task);
-
-            // Log node execution
-            ExecutionLog log = new ExecutionLog();
-            log.setWorkflowId(workflow.getId());
-            log.setTaskId(task.getId());
-            log.setNodeId(node.getNodeId());
-            log.setStatus("COMPLETED");
-            log.setMessage("Node executed successfully");
-            log.setData(result.toString());
-            log.setCreatedAt(LocalDateTime.now());
-            executionLogRepository.save(log);
-
-            // Find next nodes based on edges
-            workflow.getEdges().stream()
-                    .filter(edge -> edge.getSourceNodeId().equals(node.getNodeId()))
-                    .forEach(edge -> {
-                        WorkflowNode nextNode = workflow.getNodes().stream()
-                                .filter(n -> n.getNodeId().equals(edge.getTargetNodeId()))
-                                .findFirst()
-                                .orElse(null);
-                        
-                        if (nextNode != null && shouldExecuteEdge(edge.getCondition(), result)) {
-                            executeFromNode(workflow, nextNode, result);
-                        }
-                    });
+    private void completeTask(ExecutionRun run, Task task, Map<String, Object> result) {
+        // Update task with result
+        String data = serialize(result);
+        task.setStatus("COMPLETED");
+        task.setResult(data);
+        task.setCompletedAt(LocalDateTime.now());
+        taskRepository.save(task);
 
-        } catch (Exception e) {
-            // Update task with error
-            task.setStatus("FAILED");
-            task.setResult("Node execution failed: " + e.getMessage());
-            task.setCompletedAt(LocalDateTime.now());
-            taskRepository.save(task);
-
-            // Log error
-            ExecutionLog errorLog = new ExecutionLog();
-            errorLog.setWorkflowId(workflow.getId());
-            errorLog.setTaskId(task.getId());
-            errorLog.setNodeId(node.getNodeId());
-            errorLog.setStatus("FAILED");
-            errorLog.setMessage("Node execution failed: " + e.getMessage());
-            errorLog.setCreatedAt(LocalDateTime.now());
-            executionLogRepository.save(errorLog);
+        // Log node execution
+        ExecutionLog log = new ExecutionLog();
+        log.setWorkflowId(run.getWorkflow().getId());
+        log.setExecutionId(run.getExecutionId());
+        log.setTaskId(task.getId());
+        log.setNodeId(task.getNodeId());
+        log.setStatus("COMPLETED");
+        log.setMessage("Node executed successfully");
+        log.setData(data);
+        log.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(log);
+    }
 
-            throw e;
-        }
+    private void parkTask(ExecutionRun run, Task task, Map<String, Object> result) {
+        task.setStatus("WAITING");
+        task.setResult(serialize(result));
+        taskRepository.save(task);
+
+        ExecutionLog log = new ExecutionLog();
+        log.setWorkflowId(run.getWorkflow().getId());
+        log.setExecutionId(run.getExecutionId());
+        log.setTaskId(task.getId());
+        log.setNodeId(task.getNodeId());
+        log.setStatus("WAITING");
+        log.setMessage(String.valueOf(result.get("message")));
+        log.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(log);
+    }
+
+    private void failTask(ExecutionRun run, Task task, RuntimeException e) {
+        // Update task with error
+        task.setStatus("FAILED");
+        task.setResult("Node execution failed: " + e.getMessage());
+        task.setCompletedAt(LocalDateTime.now());
+        taskRepository.save(task);
+
+        // Log error
+        ExecutionLog errorLog = new ExecutionLog();
+        errorLog.setWorkflowId(run.getWorkflow().getId());
+        errorLog.setExecutionId(run.getExecutionId());
+        errorLog.setTaskId(task.getId());
+        errorLog.setNodeId(task.getNodeId());
+        errorLog.setStatus("FAILED");
+        errorLog.setMessage("Node execution failed: " + e.getMessage());
+        errorLog.setCreatedAt(LocalDateTime.now());
+        executionLogWriter.append(errorLog);
     }
 
-    private boolean shouldExecuteEdge(String condition, Map<String, Object> result) {
-        if (condition == null || condition.isEmpty()) {
+    // Encoded once per node; the same string backs the task result and its log entry
+    private String serialize(Map<String, Object> data) {
+        return payloadCodec.encode(data);
+    }
+
+    private boolean shouldExecuteEdge(CompiledEdge edge, Map<String, Object> result) {
+        Expression condition = edge.getCompiledCondition();
+        if (condition == null) {
             return true; // No condition means always execute
         }
-        
-        // Simple condition evaluation (in real implementation, use a proper expression evaluator)
-        if ("true".equals(condition)) {
-            return true;
-        } else if ("false".equals(condition)) {
-            return false;
+
+        // A bare true/false edge out of a condition node follows that node's outcome
+        if (condition instanceof ConstantExpression constant && result != null
+                && result.get("conditionResult") instanceof Boolean outcome) {
+            return Objects.equals(constant.getValue(), outcome);
+        }
+
+        return condition.test(result);
+    }
+
+    // Raised in a run whose lease expired and whose execution another instance has recovered
+    private static class LeaseLostException extends WorkflowException {
+        LeaseLostException(String executionId) {
+            super("Execution " + executionId + " was taken over by another instance");
         }
-        
-        // Default to true for unknown conditions
-        return true;
     }
 }
@@ -0,0 +1,317 @@
+package com.workflow.engine;
+
+import com.workflow.exception.ExecutionRejectedException;
+import com.workflow.exception.WorkflowException;
+import com.workflow.model.Workflow;
+import com.workflow.repository.WorkflowRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * Runs workflow executions with admission control. Pool threads only load the
+ * definition and start a run; the run then progresses on the engine's worker
+ * threads as its nodes complete, so a small pool drives many executions in flight.
+ *
+ * <p>Each workflow gets a lane that runs at most {@code max-concurrent-per-workflow}
+ * executions and parks up to {@code per-workflow-queue-capacity} more; beyond that
+ * its triggers are rejected with 429. Independently, the number of admitted
+ * executions across all workflows never exceeds the pool size plus the global
+ * queue capacity; beyond that triggers are rejected with 503. A noisy workflow
+ * therefore fills its own lane long before it can take over the pool.</p>
+ */
+@Component
+public class WorkflowExecutionDispatcher {
+
+    @Autowired
+    private WorkflowRepository workflowRepository;
+
+    @Autowired
+    private WorkflowEngine workflowEngine;
+
+    @Autowired
+    private ExecutionStateStore stateStore;
+
+    @Autowired
+    private WorkflowGraphCache graphCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Only wraps loading the definition; the run itself commits one small transaction per step
+    private TransactionTemplate loadTemplate;
+
+    @Value("${workflow.execution.pool-size:8}")
+    private int poolSize;
+
+    @Value("${workflow.execution.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${workflow.execution.max-concurrent-per-workflow:4}")
+    private int maxConcurrentPerWorkflow;
+
+    @Value("${workflow.execution.per-workflow-queue-capacity:50}")
+    private int perWorkflowQueueCapacity;
+
+    @Value("${workflow.execution.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${workflow.execution.status-retention-minutes:60}")
+    private long statusRetentionMinutes;
+
+    private final Map<String, ExecutionRecord> executions = new ConcurrentHashMap<>();
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    // Executions admitted but not yet finished, across all lanes
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        loadTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        loadTemplate.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // The admission count keeps submissions within pool size plus queue capacity, so the
+        // executor never has to reject
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "workflow-exec-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public ExecutionRecord dispatch(Long workflowId, Map<String, Object> payload) {
+        return dispatch(new ExecutionRecord(UUID.randomUUID().toString(), workflowId), payload);
+    }
+
+    /**
+     * Dispatches an execution whose ID was handed out before it reached the dispatcher.
+     */
+    public ExecutionRecord dispatch(ExecutionRecord record, Map<String, Object> payload) {
+        return dispatch(record, null, payload);
+    }
+
+    /**
+     * Dispatches an execution that starts from the given trigger node rather than the
+     * workflow's default start node, e.g. the schedule node that fired.
+     */
+    public ExecutionRecord dispatch(Long workflowId, String startNodeId, Map<String, Object> payload) {
+        return dispatch(new ExecutionRecord(UUID.randomUUID().toString(), workflowId), startNodeId, payload);
+    }
+
+    private ExecutionRecord dispatch(ExecutionRecord record, String startNodeId, Map<String, Object> payload) {
+        submit(record, (workflow, graph) ->
+                workflowEngine.executeWorkflow(record.getExecutionId(), workflow, graph, startNodeId, payload), null);
+        return record;
+    }
+
+    /**
+     * Queues the resumption of a suspended execution that the caller has already
+     * claimed; a null result resumes the task as timed out. If it is not admitted the
+     * claim is released so the decision can be retried.
+     */
+    public ExecutionRecord dispatchResume(String executionId, Long workflowId, Long taskId, Map<String, Object> result) {
+        ExecutionRecord record = new ExecutionRecord(executionId, workflowId);
+        try {
+            submit(record, (workflow, graph) -> workflowEngine.resumeWorkflow(executionId, workflow, graph, taskId, result),
+                    () -> stateStore.releaseClaim(executionId, taskId));
+        } catch (ExecutionRejectedException e) {
+            stateStore.releaseClaim(executionId, taskId);
+            throw e;
+        }
+        return record;
+    }
+
+    /**
+     * Starts an execution registered QUEUED and claimed by this instance. Throws
+     * {@link ExecutionRejectedException} when saturated; the caller puts it back.
+     */
+    public ExecutionRecord dispatchQueued(String executionId, Long workflowId) {
+        ExecutionRecord record = new ExecutionRecord(executionId, workflowId);
+        submit(record, (workflow, graph) -> workflowEngine.startQueuedWorkflow(executionId, workflow, graph),
+                () -> stateStore.releaseQueued(executionId));
+        return record;
+    }
+
+    /**
+     * Queues the recovery of an execution that was running when the previous JVM
+     * stopped. Returns false if it was not admitted.
+     */
+    public boolean dispatchRecovery(String executionId, Long workflowId) {
+        ExecutionRecord record = new ExecutionRecord(executionId, workflowId);
+        try {
+            submit(record, (workflow, graph) -> workflowEngine.recoverWorkflow(executionId, workflow, graph),
+                    () -> stateStore.releaseLease(executionId));
+            return true;
+        } catch (ExecutionRejectedException e) {
+            return false;
+        }
+    }
+
+    public Optional<ExecutionRecord> getExecution(String executionId) {
+        return Optional.ofNullable(executions.get(executionId));
+    }
+
+    /**
+     * Admits an execution. {@code handBack} returns a durable execution to the
+     * database when its definition could not be read; null for executions that only
+     * exist once they start.
+     */
+    private void submit(ExecutionRecord record,
+                        BiFunction<Workflow, CompiledWorkflow, CompletableFuture<ExecutionRun.Outcome>> body,
+                        Runnable handBack) {
+        if (admitted.incrementAndGet() > poolSize + queueCapacity) {
+            admitted.decrementAndGet();
+            throw new ExecutionRejectedException("Execution queue is full, try again later", retryAfterSeconds);
+        }
+
+        Lane lane = lanes.computeIfAbsent(record.getWorkflowId(), id -> new Lane());
+        Runnable job = () -> execute(lane, record, body, handBack);
+        boolean runNow;
+        synchronized (lane) {
+            if (lane.running < maxConcurrentPerWorkflow) {
+                lane.running++;
+                runNow = true;
+            } else if (lane.waiting.size() < perWorkflowQueueCapacity) {
+                lane.waiting.add(job);
+                runNow = false;
+            } else {
+                admitted.decrementAndGet();
+                throw new ExecutionRejectedException("Too many executions of workflow " + record.getWorkflowId()
+                        + " in progress, try again later", retryAfterSeconds, HttpStatus.TOO_MANY_REQUESTS);
+            }
+        }
+
+        executions.put(record.getExecutionId(), record);
+        if (runNow) {
+            executor.execute(job);
+        }
+    }
+
+    private void execute(Lane lane, ExecutionRecord record,
+                         BiFunction<Workflow, CompiledWorkflow, CompletableFuture<ExecutionRun.Outcome>> body,
+                         Runnable handBack) {
+        CompiledWorkflow graph = null;
+        CompletableFuture<ExecutionRun.Outcome> run;
+        try {
+            record.markRunning();
+            graph = loadDefinition(record.getWorkflowId());
+            run = body.apply(graph.getWorkflow(), graph);
+        } catch (Exception e) {
+            if (graph == null && !(e instanceof WorkflowException) && handBack != null) {
+                // Most likely a transient database error: release the claim so the drain, the
+                // recovery scan or the task's next decision retries the execution
+                handBack(record, handBack, e);
+                release(lane);
+                return;
+            }
+            // Durable executions (queued, recovered, resumed) must not stay claimed when the workflow is gone
+            stateStore.finished(record.getExecutionId(), ExecutionStateStore.FAILED, e.getMessage());
+            run = CompletableFuture.failedFuture(e);
+        }
+
+        // The pool thread returns now; the lane slot and admission are held until the run settles
+        run.whenComplete((outcome, error) -> {
+            try {
+                if (error != null) {
+                    // The engine has already logged the failure; keep the reason for status queries
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    record.markFailed(cause.getMessage());
+                } else if (outcome == ExecutionRun.Outcome.SUSPENDED) {
+                    // A suspended execution may wait for days; its status is served from the database
+                    record.markWaiting();
+                    executions.remove(record.getExecutionId());
+                } else {
+                    record.markCompleted();
+                }
+            } finally {
+                release(lane);
+            }
+        });
+    }
+
+    private void handBack(ExecutionRecord record, Runnable handBack, Exception cause) {
+        System.err.println("Could not load workflow " + record.getWorkflowId() + " for execution "
+                + record.getExecutionId() + ", handing it back: " + cause.getMessage());
+        // Its status is served from the database again
+        executions.remove(record.getExecutionId());
+        try {
+            handBack.run();
+        } catch (RuntimeException e) {
+            // The lease then expires and the recovery scan picks the execution up
+            System.err.println("Failed to hand back execution " + record.getExecutionId() + ": " + e.getMessage());
+        }
+    }
+
+    // Hot workflows are served from the cache; a miss loads nodes and edges with fetch joins
+    private CompiledWorkflow loadDefinition(Long workflowId) {
+        CompiledWorkflow cached = graphCache.getCached(workflowId);
+        if (cached != null) {
+            return cached;
+        }
+        return loadTemplate.execute(status -> {
+            Workflow workflow = workflowRepository.findDefinitionById(workflowId)
+                    .orElseThrow(() -> new WorkflowException("Workflow not found with id: " + workflowId));
+            return graphCache.getCompiledWorkflow(workflow);
+        });
+    }
+
+    private void release(Lane lane) {
+        Runnable next;
+        synchronized (lane) {
+            next = lane.waiting.poll();
+            if (next == null) {
+                lane.running--;
+            }
+        }
+        if (next != null) {
+            // The slot passes straight to the next waiting execution of the same workflow
+            executor.execute(next);
+        }
+        admitted.decrementAndGet();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictFinishedExecutions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(statusRetentionMinutes);
+        executions.values().removeIf(record -> record.isFinished() && record.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static class Lane {
+
+        private final Deque<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+    }
+}
@@ -0,0 +1,71 @@
+package com.workflow.engine;
+
+import com.workflow.model.Workflow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled definitions by workflow ID. A cached definition is served without
+ * touching the database until it is evicted, which the workflow service does on
+ * every change, or until it is older than {@code definition-cache.ttl-seconds}, which
+ * bounds how long another instance's change can go unnoticed.
+ */
+@Component
+public class WorkflowGraphCache {
+
+    @Autowired
+    private ConditionEvaluator conditionEvaluator;
+
+    @Value("${workflow.engine.definition-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<Long, Entry> compiledWorkflows = new ConcurrentHashMap<>();
+
+    public CompiledWorkflow getCompiledWorkflow(Workflow workflow) {
+        Entry cached = compiledWorkflows.get(workflow.getId());
+        if (cached != null && Objects.equals(cached.graph.getUpdatedAt(), workflow.getUpdatedAt())) {
+            return cached.graph;
+        }
+
+        // Only a cache miss touches the lazy node and edge collections
+        CompiledWorkflow compiled = CompiledWorkflow.compile(workflow, conditionEvaluator);
+        if (workflow.getId() != null) {
+            compiledWorkflows.put(workflow.getId(), new Entry(compiled));
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the cached definition, or null if it has to be loaded.
+     */
+    public CompiledWorkflow getCached(Long workflowId) {
+        Entry cached = compiledWorkflows.get(workflowId);
+        if (cached == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - cached.loadedAt > ttlSeconds * 1000) {
+            compiledWorkflows.remove(workflowId, cached);
+            return null;
+        }
+        return cached.graph;
+    }
+
+    public void evict(Long workflowId) {
+        compiledWorkflows.remove(workflowId);
+    }
+
+    private static class Entry {
+
+        private final CompiledWorkflow graph;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Entry(CompiledWorkflow graph) {
+            this.graph = graph;
+        }
+    }
+}
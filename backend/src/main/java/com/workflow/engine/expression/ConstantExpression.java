@@ -0,0 +1,21 @@
+package com.workflow.engine.expression;
+
+import java.util.Map;
+
+public class ConstantExpression implements Expression {
+
+    private final Object value;
+
+    public ConstantExpression(Object value) {
+        this.value = value;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public Object evaluate(Map<String, Object> context) {
+        return value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.workflow.engine.expression;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A condition compiled once into a tree of closures. Evaluating it only walks the
+ * tree; no string parsing happens at evaluation time.
+ */
+@FunctionalInterface
+public interface Expression {
+
+    Object evaluate(Map<String, Object> context);
+
+    default boolean test(Map<String, Object> context) {
+        return isTruthy(evaluate(context));
+    }
+
+    static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        if (value instanceof String) {
+            String text = (String) value;
+            return !text.isEmpty() && !"false".equalsIgnoreCase(text);
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return !((Map<?, ?>) value).isEmpty();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,10 @@
+package com.workflow.engine.expression;
+
+import com.workflow.exception.WorkflowException;
+
+public class ExpressionException extends WorkflowException {
+    
+    public ExpressionException(String message) {
+        super(message);
+    }
+}
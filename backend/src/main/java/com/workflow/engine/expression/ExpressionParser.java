@@ -0,0 +1,578 @@
+package com.workflow.engine.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recursive-descent parser turning condition text into an {@link Expression} tree.
+ *
+ * <p>Supported grammar, lowest precedence first:</p>
+ * <pre>
+ *   or         := and ( ("||" | "or") and )*
+ *   and        := not ( ("&amp;&amp;" | "and") not )*
+ *   not        := ("!" | "not") not | comparison
+ *   comparison := additive ( ("==" | "=" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=") additive )?
+ *   additive   := multiplicative ( ("+" | "-") multiplicative )*
+ *   multiplicative := unary ( ("*" | "/" | "%") unary )*
+ *   unary      := "-" unary | primary
+ *   primary    := number | 'string' | "string" | true | false | null | path | "(" or ")"
+ *   path       := identifier ( "." identifier-or-index )*
+ * </pre>
+ *
+ * <p>Sub-expressions made only of literals are folded into constants at parse time.</p>
+ *
+ * <p>Conditions written for the old string-splitting evaluator are still honoured:
+ * {@code path == value} and {@code path != value} whose right-hand side is not
+ * valid in this grammar ({@code status == in progress}) or is an unquoted word
+ * joined by {@code -} or {@code /} ({@code status == in-progress},
+ * {@code date == 2024-01-01}) compare the path's text with the raw right-hand
+ * text, exactly as before. A bare name or dotted path on the right of an equality
+ * is text as well; write it in parentheses to compare with its value instead
+ * ({@code status == (expected)}).</p>
+ */
+public final class ExpressionParser {
+
+    private static final Set<String> TWO_CHAR_OPERATORS = Set.of("==", "!=", "<=", ">=", "&&", "||");
+    private static final String SINGLE_CHAR_OPERATORS = "<>!+-*/%";
+
+    private static final Pattern LEGACY_PATH = Pattern.compile("\\s*([A-Za-z_$][\\w$]*(?:\\.[\\w$]+)*)\\s*");
+    private static final Pattern LEGACY_JOINED_WORD = Pattern.compile("[\\w$.]+(?:[-/][\\w$.]+)+");
+
+    private final String text;
+    private final List<Token> tokens;
+    private int position;
+
+    private ExpressionParser(String text) {
+        this.text = text;
+        this.tokens = tokenize(text);
+    }
+
+    public static Expression parse(String text) {
+        Expression legacy = legacyComparison(text);
+        if (legacy != null) {
+            return legacy;
+        }
+
+        ExpressionParser parser = new ExpressionParser(text);
+        Expression expression = parser.parseOr();
+        if (parser.peek().type != TokenType.END) {
+            throw parser.error("Unexpected '" + parser.peek().text + "'");
+        }
+        return expression;
+    }
+
+    private Expression parseOr() {
+        Expression left = parseAnd();
+        while (matchOperator("||")) {
+            Expression l = left;
+            Expression r = parseAnd();
+            left = fold(l, r, context -> Expression.isTruthy(l.evaluate(context)) || Expression.isTruthy(r.evaluate(context)));
+        }
+        return left;
+    }
+
+    private Expression parseAnd() {
+        Expression left = parseNot();
+        while (matchOperator("&&")) {
+            Expression l = left;
+            Expression r = parseNot();
+            left = fold(l, r, context -> Expression.isTruthy(l.evaluate(context)) && Expression.isTruthy(r.evaluate(context)));
+        }
+        return left;
+    }
+
+    private Expression parseNot() {
+        if (matchOperator("!")) {
+            Expression operand = parseNot();
+            return fold(operand, operand, context -> !Expression.isTruthy(operand.evaluate(context)));
+        }
+        return parseComparison();
+    }
+
+    private Expression parseComparison() {
+        Expression left = parseAdditive();
+        Token token = peek();
+        if (token.type != TokenType.OPERATOR) {
+            return left;
+        }
+
+        switch (token.text) {
+            case "==": {
+                position++;
+                Expression right = equalityOperand();
+                return fold(left, right, context -> valuesEqual(left.evaluate(context), right.evaluate(context)));
+            }
+            case "!=": {
+                position++;
+                Expression right = equalityOperand();
+                return fold(left, right, context -> !valuesEqual(left.evaluate(context), right.evaluate(context)));
+            }
+            case "<": {
+                position++;
+                Expression right = parseAdditive();
+                return fold(left, right, context -> compare(left.evaluate(context), right.evaluate(context), c -> c < 0));
+            }
+            case "<=": {
+                position++;
+                Expression right = parseAdditive();
+                return fold(left, right, context -> compare(left.evaluate(context), right.evaluate(context), c -> c <= 0));
+            }
+            case ">": {
+                position++;
+                Expression right = parseAdditive();
+                return fold(left, right, context -> compare(left.evaluate(context), right.evaluate(context), c -> c > 0));
+            }
+            case ">=": {
+                position++;
+                Expression right = parseAdditive();
+                return fold(left, right, context -> compare(left.evaluate(context), right.evaluate(context), c -> c >= 0));
+            }
+            default:
+                return left;
+        }
+    }
+
+    private Expression parseAdditive() {
+        Expression left = parseMultiplicative();
+        while (true) {
+            if (matchOperator("+")) {
+                left = arithmetic(left, parseMultiplicative(), '+');
+            } else if (matchOperator("-")) {
+                left = arithmetic(left, parseMultiplicative(), '-');
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseMultiplicative() {
+        Expression left = parseUnary();
+        while (true) {
+            if (matchOperator("*")) {
+                left = arithmetic(left, parseUnary(), '*');
+            } else if (matchOperator("/")) {
+                left = arithmetic(left, parseUnary(), '/');
+            } else if (matchOperator("%")) {
+                left = arithmetic(left, parseUnary(), '%');
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Expression parseUnary() {
+        if (matchOperator("-")) {
+            Expression operand = parseUnary();
+            return arithmetic(new ConstantExpression(0L), operand, '-');
+        }
+        return parsePrimary();
+    }
+
+    private Expression parsePrimary() {
+        Token token = peek();
+        position++;
+        switch (token.type) {
+            case NUMBER:
+                try {
+                    if (token.text.indexOf('.') >= 0) {
+                        return new ConstantExpression(Double.parseDouble(token.text));
+                    }
+                    return new ConstantExpression(Long.parseLong(token.text));
+                } catch (NumberFormatException e) {
+                    throw error("Invalid number '" + token.text + "'");
+                }
+            case STRING:
+                return new ConstantExpression(token.text);
+            case IDENTIFIER:
+                switch (token.text.toLowerCase(Locale.ROOT)) {
+                    case "true":
+                        return new ConstantExpression(Boolean.TRUE);
+                    case "false":
+                        return new ConstantExpression(Boolean.FALSE);
+                    case "null":
+                        return new ConstantExpression(null);
+                    default:
+                        return new PathExpression(token.text);
+                }
+            case LPAREN: {
+                Expression inner = parseOr();
+                if (peek().type != TokenType.RPAREN) {
+                    throw error("Expected ')'");
+                }
+                position++;
+                return inner;
+            }
+            default:
+                throw error(token.type == TokenType.END ? "Unexpected end of expression" : "Unexpected '" + token.text + "'");
+        }
+    }
+
+    /**
+     * Legacy conditions wrote string literals unquoted ({@code status == approved},
+     * {@code x == a.b}), so a bare name or path on the right of an equality is its
+     * own text. Parentheses opt into resolving it: {@code status == (approved)}.
+     */
+    private Expression equalityOperand() {
+        boolean parenthesized = peek().type == TokenType.LPAREN;
+        Expression right = parseAdditive();
+        if (right instanceof PathExpression && !parenthesized) {
+            return new ConstantExpression(((PathExpression) right).text);
+        }
+        return right;
+    }
+
+    /**
+     * Returns the old evaluator's semantics for a {@code path == value} or
+     * {@code path != value} condition whose right-hand side this grammar would read
+     * differently, or null if the condition should be parsed normally.
+     */
+    private static Expression legacyComparison(String text) {
+        String operator;
+        if (text.contains("==")) {
+            operator = "==";
+        } else if (text.contains("!=")) {
+            operator = "!=";
+        } else {
+            return null;
+        }
+        String[] parts = text.split(operator, -1);
+        if (parts.length != 2) {
+            return null;
+        }
+        Matcher left = LEGACY_PATH.matcher(parts[0]);
+        String right = parts[1].trim();
+        if (!left.matches() || right.isEmpty() || !isLegacyLiteral(right)) {
+            return null;
+        }
+
+        PathExpression path = new PathExpression(left.group(1));
+        String literal = right.replace("\"", "");
+        if ("==".equals(operator)) {
+            return context -> {
+                Object value = path.evaluate(context);
+                return value != null && value.toString().equals(literal);
+            };
+        }
+        return context -> {
+            Object value = path.evaluate(context);
+            return value == null || !value.toString().equals(literal);
+        };
+    }
+
+    // Right-hand text the old evaluator took verbatim and this grammar cannot or would misread
+    private static boolean isLegacyLiteral(String right) {
+        if (LEGACY_JOINED_WORD.matcher(right).matches()) {
+            return true;
+        }
+        try {
+            ExpressionParser parser = new ExpressionParser(right);
+            parser.parseOr();
+            return parser.peek().type != TokenType.END;
+        } catch (ExpressionException e) {
+            return true;
+        }
+    }
+
+    private static Expression arithmetic(Expression left, Expression right, char operator) {
+        return fold(left, right, context -> applyArithmetic(operator, left.evaluate(context), right.evaluate(context)));
+    }
+
+    private static Expression fold(Expression left, Expression right, Expression combined) {
+        if (left instanceof ConstantExpression && right instanceof ConstantExpression) {
+            return new ConstantExpression(combined.evaluate(null));
+        }
+        return combined;
+    }
+
+    // Value semantics
+
+    static boolean valuesEqual(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        Number leftNumber = toNumber(left);
+        Number rightNumber = toNumber(right);
+        if (leftNumber != null && rightNumber != null) {
+            return Double.compare(leftNumber.doubleValue(), rightNumber.doubleValue()) == 0;
+        }
+        return left.toString().equals(right.toString());
+    }
+
+    /**
+     * Compares numerically when both sides are numbers, lexically otherwise. Ordering
+     * comparisons involving null are always false.
+     */
+    static boolean compare(Object left, Object right, IntPredicate accept) {
+        if (left == null || right == null) {
+            return false;
+        }
+        Number leftNumber = toNumber(left);
+        Number rightNumber = toNumber(right);
+        if (leftNumber != null && rightNumber != null) {
+            return accept.test(Double.compare(leftNumber.doubleValue(), rightNumber.doubleValue()));
+        }
+        return accept.test(left.toString().compareTo(right.toString()));
+    }
+
+    static Object applyArithmetic(char operator, Object left, Object right) {
+        Number leftNumber = toNumber(left);
+        Number rightNumber = toNumber(right);
+
+        if (leftNumber == null || rightNumber == null) {
+            if (operator == '+' && (left instanceof String || right instanceof String)) {
+                return (left != null ? left.toString() : "") + (right != null ? right.toString() : "");
+            }
+            return null;
+        }
+
+        if (isIntegral(leftNumber) && isIntegral(rightNumber)) {
+            long a = leftNumber.longValue();
+            long b = rightNumber.longValue();
+            switch (operator) {
+                case '+':
+                    return a + b;
+                case '-':
+                    return a - b;
+                case '*':
+                    return a * b;
+                case '/':
+                    if (b == 0) {
+                        return null;
+                    }
+                    return a % b == 0 ? (Object) (a / b) : (Object) ((double) a / b);
+                case '%':
+                    return b == 0 ? null : a % b;
+                default:
+                    return null;
+            }
+        }
+
+        BinaryOperator<Double> op;
+        switch (operator) {
+            case '+':
+                op = Double::sum;
+                break;
+            case '-':
+                op = (a, b) -> a - b;
+                break;
+            case '*':
+                op = (a, b) -> a * b;
+                break;
+            case '/':
+                if (rightNumber.doubleValue() == 0) {
+                    return null;
+                }
+                op = (a, b) -> a / b;
+                break;
+            case '%':
+                if (rightNumber.doubleValue() == 0) {
+                    return null;
+                }
+                op = (a, b) -> a % b;
+                break;
+            default:
+                return null;
+        }
+        return op.apply(leftNumber.doubleValue(), rightNumber.doubleValue());
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private static Number toNumber(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        if (value instanceof String) {
+            String text = ((String) value).trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            char first = text.charAt(0);
+            if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.') {
+                return null;
+            }
+            try {
+                if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0) {
+                    return Double.parseDouble(text);
+                }
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    // Tokens
+
+    private boolean matchOperator(String operator) {
+        Token token = peek();
+        if (token.type == TokenType.OPERATOR && token.text.equals(operator)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private ExpressionException error(String message) {
+        return new ExpressionException(message + " in condition: " + text);
+    }
+
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isDigit(c)) {
+                int start = i;
+                while (i < length && (Character.isDigit(text.charAt(i)) || text.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(TokenType.NUMBER, text.substring(start, i)));
+            } else if (c == '"' || c == '\'') {
+                StringBuilder literal = new StringBuilder();
+                i++;
+                while (i < length && text.charAt(i) != c) {
+                    if (text.charAt(i) == '\\' && i + 1 < length) {
+                        i++;
+                    }
+                    literal.append(text.charAt(i));
+                    i++;
+                }
+                if (i >= length) {
+                    throw new ExpressionException("Unterminated string literal in condition: " + text);
+                }
+                i++;
+                tokens.add(new Token(TokenType.STRING, literal.toString()));
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                int start = i;
+                while (i < length && isPathCharacter(text.charAt(i))) {
+                    i++;
+                }
+                String word = text.substring(start, i);
+                switch (word.toLowerCase(Locale.ROOT)) {
+                    case "and":
+                        tokens.add(new Token(TokenType.OPERATOR, "&&"));
+                        break;
+                    case "or":
+                        tokens.add(new Token(TokenType.OPERATOR, "||"));
+                        break;
+                    case "not":
+                        tokens.add(new Token(TokenType.OPERATOR, "!"));
+                        break;
+                    default:
+                        tokens.add(new Token(TokenType.IDENTIFIER, word));
+                }
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.LPAREN, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.RPAREN, ")"));
+                i++;
+            } else if (i + 1 < length && TWO_CHAR_OPERATORS.contains(text.substring(i, i + 2))) {
+                tokens.add(new Token(TokenType.OPERATOR, text.substring(i, i + 2)));
+                i += 2;
+            } else if (c == '=') {
+                // A lone '=' is accepted as equality
+                tokens.add(new Token(TokenType.OPERATOR, "=="));
+                i++;
+            } else if (SINGLE_CHAR_OPERATORS.indexOf(c) >= 0) {
+                tokens.add(new Token(TokenType.OPERATOR, String.valueOf(c)));
+                i++;
+            } else {
+                throw new ExpressionException("Unexpected character '" + c + "' at position " + i + " in condition: " + text);
+            }
+        }
+
+        tokens.add(new Token(TokenType.END, ""));
+        return tokens;
+    }
+
+    private static boolean isPathCharacter(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+
+    private enum TokenType {
+        NUMBER, STRING, IDENTIFIER, OPERATOR, LPAREN, RPAREN, END
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+
+        private Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Dotted path into the context, split once at parse time. Numeric segments
+     * also index into lists, e.g. {@code items.0.name}.
+     */
+    private static final class PathExpression implements Expression {
+
+        private final String text;
+        private final String[] segments;
+        private final int[] indexes;
+
+        private PathExpression(String path) {
+            this.text = path;
+            this.segments = path.split("\\.");
+            this.indexes = new int[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                indexes[i] = parseIndex(segments[i]);
+            }
+        }
+
+        private static int parseIndex(String segment) {
+            if (segment.isEmpty()) {
+                return -1;
+            }
+            for (int i = 0; i < segment.length(); i++) {
+                if (!Character.isDigit(segment.charAt(i))) {
+                    return -1;
+                }
+            }
+            try {
+                return Integer.parseInt(segment);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public Object evaluate(Map<String, Object> context) {
+            Object current = context;
+            for (int i = 0; i < segments.length; i++) {
+                if (current instanceof Map) {
+                    current = ((Map<?, ?>) current).get(segments[i]);
+                } else if (current instanceof List && indexes[i] >= 0) {
+                    List<?> list = (List<?>) current;
+                    current = indexes[i] < list.size() ? list.get(indexes[i]) : null;
+                } else {
+                    return null;
+                }
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.workflow.engine.handler;
+
+import com.workflow.engine.CompiledNode;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Component
+public class ApprovalNodeHandler implements NodeHandler {
+
+    @Override
+    public String getType() {
+        return "approval";
+    }
+
+    @Override
+    public CompletionStage<Map<String, Object>> handle(CompiledNode node, Map<String, Object> input) {
+        Object approver = node.getConfig().getOrDefault("approver", "unassigned");
+
+        // Park the node; the execution is resumed through POST /api/tasks/{id}/approve or /reject
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", STATUS_WAITING);
+        result.put("message", "Waiting for approval from " + approver);
+        result.put("approver", approver);
+        if (node.getConfig().containsKey("timeout")) {
+            result.put("timeout", node.getConfig().get("timeout"));
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+
+    @Override
+    public Map<String, Object> onTimeout(CompiledNode node) {
+        Object autoApprove = node.getConfig().get("autoApprove");
+        boolean approved = Boolean.TRUE.equals(autoApprove) || "true".equals(autoApprove);
+        Map<String, Object> result = decision(approved, "system", "Approval timed out");
+        result.put("timedOut", true);
+        return result;
+    }
+
+    /**
+     * Builds the output of an approval node once a decision has been made; edges
+     * leaving the node route on {@code conditionResult} like condition nodes do.
+     */
+    public static Map<String, Object> decision(boolean approved, String approver, String comment) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", "completed");
+        result.put("message", approved ? "Approved" : "Rejected");
+        result.put("approved", approved);
+        result.put("conditionResult", approved);
+        result.put("approver", approver != null ? approver : "anonymous");
+        if (comment != null) {
+            result.put("comment", comment);
+        }
+        result.put("approvalTime", System.currentTimeMillis());
+        return result;
+    }
+}
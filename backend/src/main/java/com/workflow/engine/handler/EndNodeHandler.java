@@ -0,0 +1,32 @@
+package com.workflow.engine.handler;
+
+import com.workflow.engine.CompiledNode;
+import com.workflow.engine.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Component
+public class EndNodeHandler implements NodeHandler {
+
+    @Override
+    public String getType() {
+        return "end";
+    }
+
+    @Override
+    public CompletionStage<Map<String, Object>> handle(CompiledNode node, Map<String, Object> input) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("status", "completed");
+        result.put("message", "End node reached - workflow complete");
+        // Every node's output is kept by the execution context; only reference what ran
+        if (input instanceof ExecutionContext.Scope scope && scope.get(ExecutionContext.NODES) instanceof Map<?, ?> nodes) {
+            result.put("completedNodes", List.copyOf(nodes.keySet()));
+        }
+        return CompletableFuture.completedFuture(result);
+    }
+}
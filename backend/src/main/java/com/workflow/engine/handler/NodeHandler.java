@@ -0,0 +1,38 @@
+package com.workflow.engine.handler;
+
+import com.workflow.engine.CompiledNode;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Executes one node type. Implementations are Spring beans and are picked up by
+ * {@link com.workflow.engine.NodeExecutor} automatically, so adding a node type
+ * does not require touching the executor.
+ *
+ * <p>Handlers must not block: anything that waits (timers, remote calls) should
+ * complete the returned stage later instead of holding the calling thread. The
+ * returned map must be mutable; the executor adds node metadata to it. The input
+ * is a read-only {@link com.workflow.engine.ExecutionContext.Scope}: the upstream
+ * output plus {@code trigger} and {@code nodes}. Handlers should return only what
+ * they produce rather than copy their input forward.</p>
+ *
+ * <p>A result whose {@code status} is {@link #STATUS_WAITING} parks the node: the
+ * execution is checkpointed and suspended until the node is resumed externally.</p>
+ */
+public interface NodeHandler {
+
+    String STATUS_WAITING = "waiting";
+
+    String getType();
+
+    CompletionStage<Map<String, Object>> handle(CompiledNode node, Map<String, Object> input);
+
+    /**
+     * Output for a parked node whose {@code timeout} passed before it was resumed, or
+     * null to fail the node.
+     */
+    default Map<String, Object> onTimeout(CompiledNode node) {
+        return null;
+    }
+}
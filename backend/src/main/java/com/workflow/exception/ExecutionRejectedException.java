@@ -0,0 +1,28 @@
+package com.workflow.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ExecutionRejectedException extends WorkflowException {
+    
+    private long retryAfterSeconds;
+    
+    private HttpStatus status;
+    
+    public ExecutionRejectedException(String message, long retryAfterSeconds) {
+        this(message, retryAfterSeconds, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    public ExecutionRejectedException(String message, long retryAfterSeconds, HttpStatus status) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.status = status;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -1,5 +1,6 @@
 package com.workflow.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -26,6 +27,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ExecutionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleExecutionRejectedException(
+            ExecutionRejectedException ex, WebRequest request) {
+        
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("timestamp", LocalDateTime.now());
+        errorDetails.put("message", ex.getMessage());
+        errorDetails.put("details", request.getDescription(false));
+        errorDetails.put("error", "Execution Rejected");
+        
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorDetails);
+    }
+
     @ExceptionHandler(NodeExecutionException.class)
     public ResponseEntity<Map<String, Object>> handleNodeExecutionException(
             NodeExecutionException ex, WebRequest request) {
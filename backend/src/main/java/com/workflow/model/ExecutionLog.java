@@ -1,10 +1,16 @@
 package com.workflow.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "execution_logs")
+@Table(name = "execution_logs", indexes = {
+    @Index(name = "idx_execution_logs_execution_id", columnList = "execution_id"),
+    // Keyset pages and exports of one workflow's logs
+    @Index(name = "idx_execution_logs_workflow_id", columnList = "workflow_id, id")
+})
 public class ExecutionLog {
     
     @Id
@@ -14,6 +20,9 @@ public class ExecutionLog {
     @Column(name = "workflow_id", nullable = false)
     private Long workflowId;
     
+    @Column(name = "execution_id")
+    private String executionId;
+    
     @Column(name = "task_id")
     private Long taskId;
     
@@ -23,10 +32,11 @@ public class ExecutionLog {
     @Column(nullable = false)
     private String status;
     
-    @Lob
+    // TEXT, like the partitioned table and the batch writer's setString; not a CLOB
+    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
     private String message;
     
-    @Lob
+    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
     private String data;
     
     @Column(name = "created_at", nullable = false)
@@ -60,6 +70,14 @@ public class ExecutionLog {
         this.taskId = taskId;
     }
 
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId) {
+        this.executionId = executionId;
+    }
+
     public String getNodeId() {
         return nodeId;
     }
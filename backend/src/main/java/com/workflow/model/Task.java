@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // Back the filtered keyset listings: each filter plus the ID the pages are ordered by
+    @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+    @Index(name = "idx_tasks_workflow_id_id", columnList = "workflow_id, id"),
+    @Index(name = "idx_tasks_created_at", columnList = "created_at")
+})
 public class Task {
     
     @Id
@@ -24,7 +29,10 @@ public class Task {
     
     @Column(name = "node_id")
     private String nodeId;
-    
+
+    @Column(name = "execution_id")
+    private String executionId;
+
     @Lob
     private String configuration;
     
@@ -40,6 +48,9 @@ public class Task {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
     // Constructors
     public Task() {}
 
@@ -84,6 +95,14 @@ public class Task {
         this.workflowId = workflowId;
     }
 
+    public String getExecutionId() {
+        return executionId;
+    }
+
+    public void setExecutionId(String executionId) {
+        this.executionId = executionId;
+    }
+
     public String getNodeId() {
         return nodeId;
     }
@@ -131,4 +150,12 @@ public class Task {
     public void setCompletedAt(LocalDateTime completedAt) {
         this.completedAt = completedAt;
     }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+    }
 }
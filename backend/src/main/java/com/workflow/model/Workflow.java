@@ -5,7 +5,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "workflows")
+@Table(name = "workflows", indexes = {
+    @Index(name = "idx_workflows_active_id", columnList = "active, id"),
+    @Index(name = "idx_workflows_created_at", columnList = "created_at")
+})
 public class Workflow {
     
     @Id
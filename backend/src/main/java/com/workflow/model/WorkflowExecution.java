@@ -0,0 +1,137 @@
+package com.workflow.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "workflow_executions", indexes = {
+    @Index(name = "idx_workflow_executions_status_lease", columnList = "status, lease_expires_at"),
+    @Index(name = "idx_workflow_executions_status_workflow", columnList = "status, workflow_id, created_at")
+})
+public class WorkflowExecution implements Persistable<String> {
+    
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @Column(name = "workflow_id", nullable = false)
+    private Long workflowId;
+    
+    @Column(nullable = false)
+    private String status;
+    
+    private String message;
+    
+    // TEXT rather than a CLOB: on Postgres a @Lob is an oid large object orphaned by every update
+    @JdbcTypeCode(SqlTypes.LONGVARCHAR)
+    private String checkpoint;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Instance running the execution, and until when it is presumed alive; see ExecutionStateStore
+    @Column(name = "owner_id", length = 100)
+    private String owner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // IDs are assigned up front; lets save() persist new rows without a SELECT first,
+    // which keeps inserts batchable
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public WorkflowExecution() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+
+    public void setWorkflowId(Long workflowId) {
+        this.workflowId = workflowId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
@@ -1,10 +1,16 @@
 package com.workflow.repository;
 
 import com.workflow.model.ExecutionLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExecutionLogRepository extends JpaRepository<ExecutionLog, Long> {
@@ -14,4 +20,17 @@ public interface ExecutionLogRepository extends JpaRepository<ExecutionLog, Long
     List<ExecutionLog> findByTaskId(Long taskId);
     
     List<ExecutionLog> findByWorkflowIdOrderByCreatedAtDesc(Long workflowId);
+
+    List<ExecutionLogSummary> findSummariesByExecutionIdOrderByIdAsc(String executionId);
+
+    /**
+     * Streams a workflow's logs from a forward-only cursor. Must be consumed inside a
+     * transaction; callers should detach each row once written.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT l FROM ExecutionLog l WHERE l.workflowId = :workflowId ORDER BY l.id")
+    Stream<ExecutionLog> streamByWorkflowId(@Param("workflowId") Long workflowId);
 }
@@ -0,0 +1,24 @@
+package com.workflow.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Execution log columns shown in listings, without the {@code message} and
+ * {@code data} LOBs.
+ */
+public interface ExecutionLogSummary {
+
+    Long getId();
+
+    Long getWorkflowId();
+
+    String getExecutionId();
+
+    Long getTaskId();
+
+    String getNodeId();
+
+    String getStatus();
+
+    LocalDateTime getCreatedAt();
+}
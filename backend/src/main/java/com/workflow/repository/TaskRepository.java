@@ -1,17 +1,74 @@
 package com.workflow.repository;
 
 import com.workflow.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     
     List<Task> findByWorkflowId(Long workflowId);
+
+    List<TaskSummary> findSummariesByWorkflowIdOrderByIdAsc(Long workflowId);
+
+    /**
+     * Streams a workflow's tasks from a forward-only cursor. Must be consumed inside a
+     * transaction; callers should detach each row once written.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t WHERE t.workflowId = :workflowId ORDER BY t.id")
+    Stream<Task> streamByWorkflowId(@Param("workflowId") Long workflowId);
     
     List<Task> findByStatus(String status);
     
     List<Task> findByWorkflowIdAndStatus(Long workflowId, String status);
+    
+    List<Task> findByExecutionIdAndStatus(String executionId, String status);
+    
+    List<Task> findByStatusAndDueAtIsNotNull(String status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.status = :toStatus WHERE t.id = :id AND t.status = :fromStatus")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("fromStatus") String fromStatus,
+                         @Param("toStatus") String toStatus);
+
+    // Keyset pages: the cursor is the last ID of the previous page and the Pageable only
+    // carries the limit, so no count query runs and the cost does not grow with the offset
+
+    @Query("SELECT t.id AS id, t.name AS name, t.type AS type, t.status AS status, t.workflowId AS workflowId,"
+            + " t.createdAt AS createdAt, t.startedAt AS startedAt, t.completedAt AS completedAt"
+            + " FROM Task t WHERE (:status IS NULL OR t.status = :status)"
+            + " AND (:workflowId IS NULL OR t.workflowId = :workflowId)"
+            + " AND (:from IS NULL OR t.createdAt >= :from) AND (:to IS NULL OR t.createdAt < :to)"
+            + " AND (:cursor IS NULL OR t.id < :cursor) ORDER BY t.id DESC")
+    List<TaskSummary> findPageDescending(@Param("status") String status, @Param("workflowId") Long workflowId,
+                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                         @Param("cursor") Long cursor, Pageable limit);
+
+    @Query("SELECT t.id AS id, t.name AS name, t.type AS type, t.status AS status, t.workflowId AS workflowId,"
+            + " t.createdAt AS createdAt, t.startedAt AS startedAt, t.completedAt AS completedAt"
+            + " FROM Task t WHERE (:status IS NULL OR t.status = :status)"
+            + " AND (:workflowId IS NULL OR t.workflowId = :workflowId)"
+            + " AND (:from IS NULL OR t.createdAt >= :from) AND (:to IS NULL OR t.createdAt < :to)"
+            + " AND (:cursor IS NULL OR t.id > :cursor) ORDER BY t.id ASC")
+    List<TaskSummary> findPageAscending(@Param("status") String status, @Param("workflowId") Long workflowId,
+                                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                        @Param("cursor") Long cursor, Pageable limit);
 }
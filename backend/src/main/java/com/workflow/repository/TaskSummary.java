@@ -0,0 +1,27 @@
+package com.workflow.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task columns shown in listings. Selecting through this projection leaves the
+ * {@code configuration} and {@code result} LOBs unread; they are only loaded with
+ * the full entity.
+ */
+public interface TaskSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getType();
+
+    String getStatus();
+
+    Long getWorkflowId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getStartedAt();
+
+    LocalDateTime getCompletedAt();
+}
@@ -0,0 +1,122 @@
+package com.workflow.repository;
+
+import com.workflow.model.WorkflowExecution;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkflowExecutionRepository extends JpaRepository<WorkflowExecution, String> {
+    
+    List<WorkflowExecution> findByStatus(String status);
+    
+    List<WorkflowExecution> findByWorkflowId(Long workflowId);
+
+    @Query("SELECT DISTINCT e.workflowId FROM WorkflowExecution e WHERE e.status = :status")
+    List<Long> findWorkflowIdsByStatus(@Param("status") String status);
+
+    @Query("SELECT e.id FROM WorkflowExecution e WHERE e.workflowId = :workflowId AND e.status = :status"
+            + " ORDER BY e.createdAt")
+    List<String> findIdsByWorkflowIdAndStatus(@Param("workflowId") Long workflowId,
+                                              @Param("status") String status,
+                                              Pageable pageable);
+
+    // Rows without a lease were written before leases existed and count as expired
+    @Query("SELECT e FROM WorkflowExecution e WHERE e.status IN :statuses"
+            + " AND (e.leaseExpiresAt IS NULL OR e.leaseExpiresAt < :now) ORDER BY e.createdAt")
+    List<WorkflowExecution> findWithExpiredLease(@Param("statuses") Collection<String> statuses,
+                                                 @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.status = :toStatus, e.updatedAt = :now WHERE e.id = :id AND e.status = :fromStatus")
+    int transitionStatus(@Param("id") String id,
+                         @Param("fromStatus") String fromStatus,
+                         @Param("toStatus") String toStatus,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Moves an execution from {@code fromStatus} to {@code toStatus} and makes
+     * {@code owner} its lease holder.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.status = :toStatus, e.owner = :owner, e.leaseExpiresAt = :lease,"
+            + " e.updatedAt = :now WHERE e.id = :id AND e.status = :fromStatus")
+    int claim(@Param("id") String id,
+              @Param("fromStatus") String fromStatus,
+              @Param("toStatus") String toStatus,
+              @Param("owner") String owner,
+              @Param("lease") LocalDateTime lease,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Like {@link #claim}, but only if the current holder's lease has run out.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.status = :toStatus, e.owner = :owner, e.leaseExpiresAt = :lease,"
+            + " e.updatedAt = :now WHERE e.id = :id AND e.status = :fromStatus"
+            + " AND (e.leaseExpiresAt IS NULL OR e.leaseExpiresAt < :now)")
+    int takeOver(@Param("id") String id,
+                 @Param("fromStatus") String fromStatus,
+                 @Param("toStatus") String toStatus,
+                 @Param("owner") String owner,
+                 @Param("lease") LocalDateTime lease,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.leaseExpiresAt = :lease WHERE e.owner = :owner AND e.status IN :statuses")
+    int renewLeases(@Param("owner") String owner,
+                    @Param("statuses") Collection<String> statuses,
+                    @Param("lease") LocalDateTime lease);
+
+    /**
+     * Gives up ownership, moving the execution to {@code toStatus}. Only the holder
+     * can release.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.status = :toStatus, e.owner = NULL, e.leaseExpiresAt = NULL,"
+            + " e.updatedAt = :now WHERE e.id = :id AND e.status = :fromStatus AND e.owner = :owner")
+    int release(@Param("id") String id,
+                @Param("owner") String owner,
+                @Param("fromStatus") String fromStatus,
+                @Param("toStatus") String toStatus,
+                @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.checkpoint = :checkpoint, e.leaseExpiresAt = :lease, e.updatedAt = :now"
+            + " WHERE e.id = :id AND e.owner = :owner")
+    int saveCheckpoint(@Param("id") String id,
+                       @Param("owner") String owner,
+                       @Param("checkpoint") String checkpoint,
+                       @Param("lease") LocalDateTime lease,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Records the end of a run (or its suspension) unless another instance has
+     * taken the execution over in the meantime.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkflowExecution e SET e.status = :status, e.message = :message, e.checkpoint = :checkpoint,"
+            + " e.owner = NULL, e.leaseExpiresAt = NULL, e.updatedAt = :now"
+            + " WHERE e.id = :id AND (e.owner IS NULL OR e.owner = :owner)")
+    int settle(@Param("id") String id,
+               @Param("owner") String owner,
+               @Param("status") String status,
+               @Param("message") String message,
+               @Param("checkpoint") String checkpoint,
+               @Param("now") LocalDateTime now);
+}
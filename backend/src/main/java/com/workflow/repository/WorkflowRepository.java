@@ -1,10 +1,15 @@
 package com.workflow.repository;
 
 import com.workflow.model.Workflow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
@@ -12,4 +17,36 @@ public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
     List<Workflow> findByActiveTrue();
     
     List<Workflow> findByNameContainingIgnoreCase(String name);
+
+    @Query("SELECT w FROM Workflow w WHERE (:active IS NULL OR w.active = :active)"
+            + " AND (:from IS NULL OR w.createdAt >= :from) AND (:to IS NULL OR w.createdAt < :to)"
+            + " AND (:cursor IS NULL OR w.id < :cursor) ORDER BY w.id DESC")
+    List<Workflow> findPageDescending(@Param("active") Boolean active, @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to, @Param("cursor") Long cursor, Pageable limit);
+
+    @Query("SELECT w FROM Workflow w WHERE (:active IS NULL OR w.active = :active)"
+            + " AND (:from IS NULL OR w.createdAt >= :from) AND (:to IS NULL OR w.createdAt < :to)"
+            + " AND (:cursor IS NULL OR w.id > :cursor) ORDER BY w.id ASC")
+    List<Workflow> findPageAscending(@Param("active") Boolean active, @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to, @Param("cursor") Long cursor, Pageable limit);
+
+    @Query("SELECT DISTINCT w FROM Workflow w LEFT JOIN FETCH w.nodes WHERE w.id = :id")
+    Optional<Workflow> findWithNodesById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT w FROM Workflow w LEFT JOIN FETCH w.edges WHERE w.id = :id")
+    Optional<Workflow> findWithEdgesById(@Param("id") Long id);
+
+    /**
+     * Loads a workflow with its nodes and edges in two queries. Both bags cannot be
+     * fetched in one query (MultipleBagFetchException); the second query fills the
+     * edges of the instance the first one put into the persistence context, so this
+     * must run inside a transaction.
+     */
+    default Optional<Workflow> findDefinitionById(Long id) {
+        Optional<Workflow> workflow = findWithNodesById(id);
+        if (workflow.isPresent()) {
+            findWithEdgesById(id);
+        }
+        return workflow;
+    }
 }
@@ -0,0 +1,163 @@
+package com.workflow.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.engine.PayloadCodec;
+import com.workflow.exception.WorkflowException;
+import com.workflow.model.ExecutionLog;
+import com.workflow.model.Task;
+import com.workflow.repository.ExecutionLogRepository;
+import com.workflow.repository.TaskRepository;
+import com.workflow.repository.WorkflowRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a workflow's execution logs or tasks as NDJSON, one row per line, straight
+ * from a database cursor to the response. Each row is detached once written, so
+ * memory use does not depend on the number of rows.
+ */
+@Service
+public class ExportService {
+
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private WorkflowRepository workflowRepository;
+
+    @Autowired
+    private PayloadCodec payloadCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTemplate;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTemplate.setReadOnly(true);
+    }
+
+    public void requireWorkflow(Long workflowId) {
+        if (!workflowRepository.existsById(workflowId)) {
+            throw new WorkflowException("Workflow not found with id: " + workflowId);
+        }
+    }
+
+    public void exportLogs(Long workflowId, OutputStream out, boolean gzip) throws IOException {
+        export(out, gzip, generator -> readOnlyTemplate.executeWithoutResult(status -> {
+            try (Stream<ExecutionLog> logs = executionLogRepository.streamByWorkflowId(workflowId)) {
+                logs.forEach(log -> {
+                    writeLog(generator, log);
+                    entityManager.detach(log);
+                });
+            }
+        }));
+    }
+
+    public void exportTasks(Long workflowId, OutputStream out, boolean gzip) throws IOException {
+        export(out, gzip, generator -> readOnlyTemplate.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamByWorkflowId(workflowId)) {
+                tasks.forEach(task -> {
+                    writeTask(generator, task);
+                    entityManager.detach(task);
+                });
+            }
+        }));
+    }
+
+    private void export(OutputStream out, boolean gzip, Consumer<JsonGenerator> rows) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        // Closing the generator closes the target, which also writes the gzip trailer
+        try (JsonGenerator generator = objectMapper.createGenerator(target)) {
+            generator.setRootValueSeparator(null);
+            try {
+                rows.accept(generator);
+            } catch (UncheckedIOException e) {
+                // Usually the client went away; there is nobody left to report to
+                throw e.getCause();
+            }
+        }
+    }
+
+    private void writeLog(JsonGenerator generator, ExecutionLog log) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", log.getId());
+            generator.writeNumberField("workflowId", log.getWorkflowId());
+            generator.writeStringField("executionId", log.getExecutionId());
+            if (log.getTaskId() != null) {
+                generator.writeNumberField("taskId", log.getTaskId());
+            }
+            generator.writeStringField("nodeId", log.getNodeId());
+            generator.writeStringField("status", log.getStatus());
+            generator.writeStringField("message", log.getMessage());
+            writePayload(generator, "data", log.getData());
+            writeTime(generator, "createdAt", log.getCreatedAt());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeTask(JsonGenerator generator, Task task) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", task.getId());
+            generator.writeStringField("name", task.getName());
+            generator.writeStringField("type", task.getType());
+            generator.writeStringField("status", task.getStatus());
+            generator.writeNumberField("workflowId", task.getWorkflowId());
+            generator.writeStringField("executionId", task.getExecutionId());
+            generator.writeStringField("nodeId", task.getNodeId());
+            writePayload(generator, "result", task.getResult());
+            writeTime(generator, "createdAt", task.getCreatedAt());
+            writeTime(generator, "startedAt", task.getStartedAt());
+            writeTime(generator, "completedAt", task.getCompletedAt());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Encoded payloads are embedded as JSON; anything else (plain messages, legacy rows) as a string
+    private void writePayload(JsonGenerator generator, String field, String stored) throws IOException {
+        JsonNode decoded = payloadCodec.decode(stored);
+        if (decoded != null) {
+            generator.writeFieldName(field);
+            generator.writeTree(decoded);
+        } else {
+            generator.writeStringField(field, stored);
+        }
+    }
+
+    private void writeTime(JsonGenerator generator, String field, LocalDateTime time) throws IOException {
+        generator.writeStringField(field, time != null ? time.toString() : null);
+    }
+}
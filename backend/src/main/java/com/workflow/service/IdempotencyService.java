@@ -0,0 +1,132 @@
+package com.workflow.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workflow.dto.ExecutionStatusDTO;
+import com.workflow.exception.WorkflowException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers recent webhook triggers by idempotency key so redelivered requests get
+ * the original execution instead of starting a new one. Identical requests that
+ * arrive while the first is still being handled wait for it and share its result.
+ */
+@Service
+public class IdempotencyService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${workflow.webhook.idempotency.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${workflow.webhook.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${workflow.webhook.idempotency.hash-payload:false}")
+    private boolean hashPayload;
+
+    // Insertion ordered, so the eldest entry is also the first to expire
+    private final Map<String, Entry> entries = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private ObjectMapper canonicalMapper;
+
+    @PostConstruct
+    public void init() {
+        canonicalMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    }
+
+    /**
+     * Returns the key a trigger is deduplicated on: the caller's Idempotency-Key if
+     * present, else a hash of the payload when payload hashing is enabled, else null.
+     */
+    public String resolveKey(Long workflowId, String idempotencyKey, Map<String, Object> payload) {
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return workflowId + ":" + idempotencyKey;
+        }
+        if (!hashPayload) {
+            return null;
+        }
+
+        try {
+            byte[] canonical = canonicalMapper.writeValueAsBytes(payload);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical);
+            return workflowId + ":sha256:" + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new WorkflowException("Failed to hash webhook payload: " + e.getMessage(), e);
+        }
+    }
+
+    public ExecutionStatusDTO execute(String key, Supplier<ExecutionStatusDTO> trigger) {
+        if (key == null) {
+            return trigger.get();
+        }
+
+        Entry entry = new Entry(System.currentTimeMillis() + ttlMinutes * 60_000);
+        Entry existing;
+        synchronized (entries) {
+            existing = entries.get(key);
+            if (existing != null && existing.isExpired()) {
+                entries.remove(key);
+                existing = null;
+            }
+            if (existing == null) {
+                entries.put(key, entry);
+            }
+        }
+
+        if (existing != null) {
+            try {
+                return existing.result.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            ExecutionStatusDTO result = trigger.get();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            // Failed triggers (including rejections) are not remembered, so a retry can succeed
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static class Entry {
+
+        private final long expiresAt;
+        private final CompletableFuture<ExecutionStatusDTO> result = new CompletableFuture<>();
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
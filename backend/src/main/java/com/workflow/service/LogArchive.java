@@ -0,0 +1,220 @@
+package com.workflow.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.dto.ExecutionLogDTO;
+import com.workflow.engine.PayloadCodec;
+import com.workflow.exception.WorkflowException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped NDJSON segment files holding execution logs that have been moved out of
+ * the database, one or more segments per day. A segment is written to a temporary
+ * file and renamed once complete, so a segment that exists is always whole; rows
+ * are only deleted from the database after their segment exists. A run interrupted
+ * between the two archives the same rows again on its next run, so segments of one
+ * day may overlap; queries return each entry once.
+ */
+@Service
+public class LogArchive {
+
+    private static final String PREFIX = "execution_logs-";
+    private static final String SUFFIX = ".ndjson.gz";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PayloadCodec payloadCodec;
+
+    @Value("${workflow.retention.archive-dir:./data/log-archive}")
+    private String archiveDir;
+
+    /**
+     * Opens a new segment for {@code day}. Rows are appended with
+     * {@link SegmentWriter#write(ResultSet)} and become visible on {@link SegmentWriter#commit()}.
+     */
+    public SegmentWriter open(LocalDate day) throws IOException {
+        Path dir = Paths.get(archiveDir);
+        Files.createDirectories(dir);
+        // Several runs may archive the same day (e.g. one was interrupted); each gets its own segment
+        Path target = dir.resolve(PREFIX + day + "." + System.currentTimeMillis() + SUFFIX);
+        return new SegmentWriter(target);
+    }
+
+    public List<Map<String, Object>> listSegments() {
+        List<Map<String, Object>> segments = new ArrayList<>();
+        for (Path path : segmentFiles(null)) {
+            Map<String, Object> segment = new LinkedHashMap<>();
+            segment.put("name", path.getFileName().toString());
+            segment.put("day", dayOf(path).toString());
+            try {
+                segment.put("sizeBytes", Files.size(path));
+            } catch (IOException e) {
+                segment.put("sizeBytes", null);
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    /**
+     * Scans the segments of one day for matching entries, in archive order. Filters
+     * are optional; at most {@code limit} entries are returned.
+     */
+    public List<ExecutionLogDTO> query(LocalDate day, Long workflowId, String executionId, int limit) {
+        List<ExecutionLogDTO> matches = new ArrayList<>();
+        // Duplicates of a row are identical, so only matches need remembering
+        Set<Long> seen = new HashSet<>();
+        for (Path path : segmentFiles(day)) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(path));
+                 MappingIterator<JsonNode> rows = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+                while (rows.hasNextValue() && matches.size() < limit) {
+                    JsonNode row = rows.nextValue();
+                    if (workflowId != null && row.path("workflowId").asLong() != workflowId) {
+                        continue;
+                    }
+                    if (executionId != null && !executionId.equals(row.path("executionId").asText(null))) {
+                        continue;
+                    }
+                    if (seen.add(row.path("id").asLong())) {
+                        matches.add(toDTO(row));
+                    }
+                }
+            } catch (IOException e) {
+                throw new WorkflowException("Failed to read archive segment " + path.getFileName() + ": " + e.getMessage(), e);
+            }
+            if (matches.size() >= limit) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private List<Path> segmentFiles(LocalDate day) {
+        Path dir = Paths.get(archiveDir);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        String prefix = day != null ? PREFIX + day + "." : PREFIX;
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(prefix) && name.endsWith(SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new WorkflowException("Failed to list log archive " + dir + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static LocalDate dayOf(Path path) {
+        String name = path.getFileName().toString();
+        return LocalDate.parse(name.substring(PREFIX.length(), PREFIX.length() + 10));
+    }
+
+    private ExecutionLogDTO toDTO(JsonNode row) {
+        ExecutionLogDTO dto = new ExecutionLogDTO();
+        dto.setId(row.path("id").asLong());
+        dto.setWorkflowId(row.path("workflowId").asLong());
+        dto.setExecutionId(row.path("executionId").asText(null));
+        dto.setTaskId(row.hasNonNull("taskId") ? row.get("taskId").asLong() : null);
+        dto.setNodeId(row.path("nodeId").asText(null));
+        dto.setStatus(row.path("status").asText(null));
+        dto.setMessage(row.path("message").asText(null));
+        dto.setData(payloadCodec.toJson(row.path("data").asText(null)));
+        dto.setCreatedAt(row.hasNonNull("createdAt") ? LocalDateTime.parse(row.get("createdAt").asText()) : null);
+        return dto;
+    }
+
+    /**
+     * One segment being written. Columns are stored as they are in the database;
+     * {@code data} keeps its codec encoding and is decoded when queried.
+     */
+    public class SegmentWriter implements AutoCloseable {
+
+        private final Path target;
+        private final Path temp;
+        private final JsonGenerator generator;
+        private long rows;
+        private boolean committed;
+
+        private SegmentWriter(Path target) throws IOException {
+            this.target = target;
+            this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+            OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 8192);
+            this.generator = objectMapper.createGenerator(out);
+        }
+
+        public void write(ResultSet rs) throws SQLException {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", rs.getLong("id"));
+                generator.writeNumberField("workflowId", rs.getLong("workflow_id"));
+                generator.writeStringField("executionId", rs.getString("execution_id"));
+                long taskId = rs.getLong("task_id");
+                if (!rs.wasNull()) {
+                    generator.writeNumberField("taskId", taskId);
+                }
+                generator.writeStringField("nodeId", rs.getString("node_id"));
+                generator.writeStringField("status", rs.getString("status"));
+                generator.writeStringField("message", rs.getString("message"));
+                generator.writeStringField("data", rs.getString("data"));
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                generator.writeStringField("createdAt", createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public Path commit() throws IOException {
+            // Closing the generator closes the gzip stream and writes its trailer
+            generator.close();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return target;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                generator.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.workflow.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code execution_logs} small by moving entries older than
+ * {@code retention-days} into the {@link LogArchive}.
+ *
+ * <p>On PostgreSQL, when the table has been converted to a table partitioned by day
+ * (see {@code db/postgres/execution_logs_partitioned.sql}), partitions are created
+ * ahead of time and an expired day is archived from its partition, which is then
+ * detached and dropped: no row-by-row deletes, no bloat left for vacuum. On any
+ * other database, or an unpartitioned table, an expired day is archived and then
+ * deleted in bounded batches.</p>
+ *
+ * <p>Retention is off by default. The archive is local to the instance that runs
+ * it, and concurrent runs would archive the same rows twice, so enable it on exactly
+ * one instance. Partitions are created ahead on every instance regardless.</p>
+ */
+@Service
+public class LogRetentionService {
+
+    private static final String PARTITION_PREFIX = "execution_logs_p";
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final String SELECT_COLUMNS =
+            "SELECT id, workflow_id, execution_id, task_id, node_id, status, message, data, created_at FROM ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LogArchive logArchive;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${workflow.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${workflow.retention.retention-days:30}")
+    private int retentionDays;
+
+    // Without archiving, expired entries are simply dropped
+    @Value("${workflow.retention.archive:true}")
+    private boolean archive;
+
+    @Value("${workflow.retention.delete-batch-size:5000}")
+    private int deleteBatchSize;
+
+    @Value("${workflow.retention.partitions-ahead-days:7}")
+    private int partitionsAheadDays;
+
+    private TransactionTemplate readOnlyTemplate;
+
+    private volatile boolean partitioned;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectPartitioning() {
+        try {
+            partitioned = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()))
+                    && Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p "
+                    + "JOIN pg_class c ON c.oid = p.partrelid WHERE c.relname = 'execution_logs')", Boolean.class));
+        } catch (DataAccessException e) {
+            System.err.println("Could not determine whether execution_logs is partitioned: " + e.getMessage());
+            partitioned = false;
+        }
+
+        // New entries must always find their day's partition, whether or not retention runs here
+        if (partitioned) {
+            ensurePartitions();
+        }
+    }
+
+    @Scheduled(cron = "${workflow.retention.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        if (partitioned) {
+            ensurePartitions();
+        }
+        if (enabled) {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                System.err.println("Execution log retention failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Archives and removes every entry created before the retention cutoff. Returns
+     * what was done.
+     */
+    public synchronized Map<String, Object> run() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        long archivedRows = 0;
+        long deletedRows = 0;
+        int droppedPartitions = 0;
+
+        if (partitioned) {
+            for (String partition : expiredPartitions(cutoff)) {
+                LocalDate day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_DAY);
+                archivedRows += archiveDay(partition, day);
+                Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+                jdbcTemplate.execute("ALTER TABLE execution_logs DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                deletedRows += rows != null ? rows : 0;
+                droppedPartitions++;
+            }
+        }
+
+        // Unpartitioned tables, and rows that landed in the default partition
+        Timestamp oldest;
+        while ((oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM execution_logs WHERE created_at < ?",
+                Timestamp.class, Timestamp.valueOf(cutoff.atStartOfDay()))) != null) {
+            LocalDate day = oldest.toLocalDateTime().toLocalDate();
+            archivedRows += archiveDay("execution_logs", day);
+            deletedRows += deleteDay(day);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("mode", partitioned ? "partitions" : "batch-delete");
+        summary.put("cutoff", cutoff.toString());
+        summary.put("archivedRows", archivedRows);
+        summary.put("deletedRows", deletedRows);
+        summary.put("droppedPartitions", droppedPartitions);
+        return summary;
+    }
+
+    private void ensurePartitions() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i <= partitionsAheadDays; i++) {
+            LocalDate day = today.plusDays(i);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PARTITION_PREFIX + day.format(PARTITION_DAY)
+                        + " PARTITION OF execution_logs FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+            } catch (DataAccessException e) {
+                // Typically the default partition already holds rows of that day; they stay there
+                System.err.println("Could not create execution log partition for " + day + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private List<String> expiredPartitions(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = 'execution_logs' AND c.relname LIKE '" + PARTITION_PREFIX + "%' ORDER BY c.relname",
+                String.class);
+        partitions.removeIf(name -> {
+            try {
+                return !LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_DAY).isBefore(cutoff);
+            } catch (RuntimeException e) {
+                return true;
+            }
+        });
+        return partitions;
+    }
+
+    // Streams one day into a new segment; returns the number of rows archived
+    private long archiveDay(String table, LocalDate day) {
+        if (!archive) {
+            return 0;
+        }
+        try (LogArchive.SegmentWriter segment = logArchive.open(day)) {
+            readOnlyTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(SELECT_COLUMNS + table
+                        + " WHERE created_at >= ? AND created_at < ? ORDER BY id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(1000);
+                ps.setTimestamp(1, Timestamp.valueOf(day.atStartOfDay()));
+                ps.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+                return ps;
+            }, segment::write));
+            if (segment.getRows() > 0) {
+                segment.commit();
+            }
+            return segment.getRows();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive execution logs of " + day, e);
+        }
+    }
+
+    // Each batch commits on its own, so locks and undo stay bounded
+    private long deleteDay(LocalDate day) {
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update("DELETE FROM execution_logs WHERE id IN (SELECT id FROM execution_logs "
+                    + "WHERE created_at >= ? AND created_at < ? ORDER BY id FETCH FIRST ? ROWS ONLY)",
+                    Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()),
+                    deleteBatchSize);
+            deleted += batch;
+        } while (batch > 0);
+        return deleted;
+    }
+}
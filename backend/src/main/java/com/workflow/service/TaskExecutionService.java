@@ -1,11 +1,24 @@
 package com.workflow.service;
 
+import com.workflow.dto.ApprovalRequest;
+import com.workflow.dto.CursorPage;
+import com.workflow.dto.ExecutionStatusDTO;
 import com.workflow.dto.TaskDTO;
+import com.workflow.engine.ExecutionRecord;
+import com.workflow.engine.ExecutionStateStore;
+import com.workflow.engine.PayloadCodec;
+import com.workflow.engine.WorkflowExecutionDispatcher;
+import com.workflow.engine.handler.ApprovalNodeHandler;
 import com.workflow.model.Task;
 import com.workflow.repository.TaskRepository;
+import com.workflow.repository.TaskSummary;
+import com.workflow.exception.ExecutionRejectedException;
 import com.workflow.exception.WorkflowException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -22,10 +35,41 @@ public class TaskExecutionService {
     @Autowired
     private NotificationService notificationService;
 
-    public List<TaskDTO> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Autowired
+    private ExecutionStateStore executionStateStore;
+
+    @Autowired
+    private PayloadCodec payloadCodec;
+
+    @Autowired
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Value("${workflow.api.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${workflow.api.page.max-size:500}")
+    private int maxPageSize;
+
+    /**
+     * One page of tasks, newest first unless {@code ascending}. Every filter is
+     * optional; {@code from} is inclusive and {@code to} exclusive.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDTO> getTasks(String status, Long workflowId, LocalDateTime from, LocalDateTime to,
+                                        Long cursor, Integer limit, boolean ascending) {
+        int size = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+        // One extra row tells whether there is a next page
+        PageRequest window = PageRequest.of(0, size + 1);
+        List<TaskSummary> tasks = ascending
+                ? taskRepository.findPageAscending(status, workflowId, from, to, cursor, window)
+                : taskRepository.findPageDescending(status, workflowId, from, to, cursor, window);
+
+        Long nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            nextCursor = tasks.get(size - 1).getId();
+        }
+        return new CursorPage<>(tasks.stream().map(this::convertToDTO).collect(Collectors.toList()), nextCursor);
     }
 
     public TaskDTO getTaskById(Long id) {
@@ -34,12 +78,15 @@ public class TaskExecutionService {
         return convertToDTO(task);
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByWorkflowId(Long workflowId) {
-        return taskRepository.findByWorkflowId(workflowId).stream()
+        return taskRepository.findSummariesByWorkflowIdOrderByIdAsc(workflowId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Each save commits on its own; no connection is held during the simulated work
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void executeTask(Long taskId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new WorkflowException("Task not found with id: " + taskId));
@@ -75,6 +122,63 @@ public class TaskExecutionService {
         taskRepository.save(task);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExecutionStatusDTO approveTask(Long taskId, ApprovalRequest request) {
+        return decide(taskId, true, request);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExecutionStatusDTO rejectTask(Long taskId, ApprovalRequest request) {
+        return decide(taskId, false, request);
+    }
+
+    // Not transactional: the claim must be committed before the resume is dispatched
+    private ExecutionStatusDTO decide(Long taskId, boolean approved, ApprovalRequest request) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new WorkflowException("Task not found with id: " + taskId));
+
+        if (task.getExecutionId() == null) {
+            throw new WorkflowException("Task " + taskId + " is not waiting for a decision");
+        }
+
+        // The claim is conditional on this task still waiting, so a stale decision never resumes a later park
+        switch (executionStateStore.claimForResume(taskId, task.getExecutionId())) {
+            case TASK_NOT_WAITING:
+                throw new WorkflowException("Task " + taskId + " is not waiting for a decision");
+            case EXECUTION_BUSY:
+                // Another branch of the execution is resuming; the decision can be retried
+                throw new ExecutionRejectedException("Execution is currently resuming, try again shortly", 1);
+            default:
+                break;
+        }
+
+        String approver = request != null ? request.getApprover() : null;
+        String comment = request != null ? request.getComment() : null;
+        ExecutionRecord record = executionDispatcher.dispatchResume(task.getExecutionId(), task.getWorkflowId(), taskId,
+                ApprovalNodeHandler.decision(approved, approver, comment));
+
+        ExecutionStatusDTO dto = new ExecutionStatusDTO();
+        dto.setExecutionId(record.getExecutionId());
+        dto.setWorkflowId(record.getWorkflowId());
+        dto.setStatus(record.getStatus());
+        dto.setSubmittedAt(record.getSubmittedAt());
+        return dto;
+    }
+
+    // Listings leave result unset; it is only served by the detail endpoint
+    private TaskDTO convertToDTO(TaskSummary task) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(task.getId());
+        dto.setName(task.getName());
+        dto.setType(task.getType());
+        dto.setStatus(task.getStatus());
+        dto.setWorkflowId(task.getWorkflowId());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setStartedAt(task.getStartedAt());
+        dto.setCompletedAt(task.getCompletedAt());
+        return dto;
+    }
+
     private TaskDTO convertToDTO(Task task) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
@@ -85,7 +189,8 @@ public class TaskExecutionService {
         dto.setCreatedAt(task.getCreatedAt());
         dto.setStartedAt(task.getStartedAt());
         dto.setCompletedAt(task.getCompletedAt());
-        dto.setResult(task.getResult());
+        // Binary or compressed results are served as JSON
+        dto.setResult(payloadCodec.toJson(task.getResult()));
         return dto;
     }
 }
@@ -1,20 +1,50 @@
 package com.workflow.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.dto.BatchTriggerResultDTO;
+import com.workflow.dto.CursorPage;
+import com.workflow.dto.ExecutionLogDTO;
+import com.workflow.dto.ExecutionStatusDTO;
 import com.workflow.dto.WorkflowDTO;
-import com.workflow.engine.WorkflowEngine;
+import com.workflow.engine.CompiledNode;
+import com.workflow.engine.ExecutionRecord;
+import com.workflow.engine.ExecutionStateStore;
+import com.workflow.engine.PayloadCodec;
+import com.workflow.engine.ScheduledTriggerRegistry;
+import com.workflow.engine.WebhookBuffer;
+import com.workflow.engine.WorkflowExecutionDispatcher;
+import com.workflow.engine.WorkflowGraphCache;
 import com.workflow.model.Workflow;
 import com.workflow.model.WorkflowNode;
 import com.workflow.model.WorkflowEdge;
+import com.workflow.model.WorkflowExecution;
+import com.workflow.model.ExecutionLog;
+import com.workflow.repository.ExecutionLogRepository;
+import com.workflow.repository.ExecutionLogSummary;
+import com.workflow.repository.WorkflowExecutionRepository;
 import com.workflow.repository.WorkflowRepository;
 import com.workflow.exception.WorkflowException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.Arrays;
 
@@ -26,7 +56,56 @@ public class WorkflowService {
     private WorkflowRepository workflowRepository;
 
     @Autowired
-    private WorkflowEngine workflowEngine;
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Autowired
+    private WorkflowGraphCache graphCache;
+
+    @Autowired
+    private WorkflowExecutionRepository executionRepository;
+
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    @Autowired
+    private PayloadCodec payloadCodec;
+
+    @Autowired
+    private WebhookBuffer webhookBuffer;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ExecutionStateStore executionStateStore;
+
+    @Autowired
+    private ScheduledTriggerRegistry scheduledTriggers;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Longest a sync webhook call waits for its execution before answering 202
+    @Value("${workflow.webhook.sync-timeout-seconds:30}")
+    private long syncTimeoutSeconds;
+
+    @Value("${workflow.webhook.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${workflow.webhook.batch.max-items:100000}")
+    private int batchMaxItems;
+
+    @Value("${workflow.webhook.mode:sync}")
+    private String webhookMode;
+
+    @Value("${workflow.api.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${workflow.api.page.max-size:500}")
+    private int maxPageSize;
 
     // @Autowired
     // private NotificationService notificationService;
@@ -128,10 +207,26 @@ public class WorkflowService {
         workflowRepository.save(workflow);
     }
 
-    public List<WorkflowDTO> getAllWorkflows() {
-        return workflowRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    /**
+     * One page of workflows, newest first unless {@code ascending}. Every filter is
+     * optional; {@code from} is inclusive and {@code to} exclusive.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<WorkflowDTO> getWorkflows(Boolean active, LocalDateTime from, LocalDateTime to,
+                                                Long cursor, Integer limit, boolean ascending) {
+        int size = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+        // One extra row tells whether there is a next page
+        PageRequest window = PageRequest.of(0, size + 1);
+        List<Workflow> workflows = ascending
+                ? workflowRepository.findPageAscending(active, from, to, cursor, window)
+                : workflowRepository.findPageDescending(active, from, to, cursor, window);
+
+        Long nextCursor = null;
+        if (workflows.size() > size) {
+            workflows = workflows.subList(0, size);
+            nextCursor = workflows.get(size - 1).getId();
+        }
+        return new CursorPage<>(workflows.stream().map(this::convertToDTO).collect(Collectors.toList()), nextCursor);
     }
 
     public WorkflowDTO getWorkflowById(Long id) {
@@ -145,6 +240,10 @@ public class WorkflowService {
         workflow.setCreatedAt(LocalDateTime.now());
         workflow.setUpdatedAt(LocalDateTime.now());
         Workflow savedWorkflow = workflowRepository.save(workflow);
+        // Created active, so its schedules start now as they would on activation
+        if (savedWorkflow.isActive()) {
+            scheduledTriggers.register(savedWorkflow);
+        }
         return convertToDTO(savedWorkflow);
     }
 
@@ -157,6 +256,7 @@ public class WorkflowService {
         existingWorkflow.setUpdatedAt(LocalDateTime.now());
         
         Workflow savedWorkflow = workflowRepository.save(existingWorkflow);
+        graphCache.evict(id);
         return convertToDTO(savedWorkflow);
     }
 
@@ -165,20 +265,172 @@ public class WorkflowService {
             throw new WorkflowException("Workflow not found with id: " + id);
         }
         workflowRepository.deleteById(id);
+        graphCache.evict(id);
+        scheduledTriggers.unregister(id);
     }
 
-    public void executeWorkflow(Long workflowId) {
-        Workflow workflow = workflowRepository.findById(workflowId)
-                .orElseThrow(() -> new WorkflowException("Workflow not found with id: " + workflowId));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExecutionStatusDTO executeWorkflow(Long workflowId) {
+        requireWorkflow(workflowId);
         
-        workflowEngine.executeWorkflow(workflow, null);
+        return convertToDTO(executionDispatcher.dispatch(workflowId, null));
     }
 
-    public void executeWorkflowWithPayload(Long workflowId, Map<String, Object> payload) {
-        Workflow workflow = workflowRepository.findById(workflowId)
-                .orElseThrow(() -> new WorkflowException("Workflow not found with id: " + workflowId));
+    public ExecutionStatusDTO getExecutionStatus(String executionId) {
+        // Live executions are tracked in memory; suspended and older ones only in the database
+        return executionDispatcher.getExecution(executionId)
+                .or(() -> webhookBuffer.getPending(executionId))
+                .map(this::convertToDTO)
+                .orElseGet(() -> executionRepository.findById(executionId)
+                        .map(this::convertToDTO)
+                        .orElseThrow(() -> new WorkflowException("Execution not found with id: " + executionId)));
+    }
+
+    /**
+     * Log entries of one execution without their message and data.
+     */
+    @Transactional(readOnly = true)
+    public List<ExecutionLogDTO> getExecutionLogs(String executionId) {
+        return executionLogRepository.findSummariesByExecutionIdOrderByIdAsc(executionId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ExecutionLogDTO getExecutionLog(Long logId) {
+        ExecutionLog log = executionLogRepository.findById(logId)
+                .orElseThrow(() -> new WorkflowException("Execution log not found with id: " + logId));
+        ExecutionLogDTO dto = new ExecutionLogDTO();
+        dto.setId(log.getId());
+        dto.setWorkflowId(log.getWorkflowId());
+        dto.setExecutionId(log.getExecutionId());
+        dto.setTaskId(log.getTaskId());
+        dto.setNodeId(log.getNodeId());
+        dto.setStatus(log.getStatus());
+        dto.setMessage(log.getMessage());
+        dto.setData(payloadCodec.toJson(log.getData()));
+        dto.setCreatedAt(log.getCreatedAt());
+        return dto;
+    }
+
+    /**
+     * Entry point for webhook triggers. In buffered mode the trigger is only queued and
+     * the returned status is QUEUED; otherwise the call waits for the execution, for at
+     * most sync-timeout-seconds, after which it returns the execution still RUNNING.
+     * Redelivered triggers with the same idempotency key get the original execution.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExecutionStatusDTO triggerFromWebhook(Long workflowId, Map<String, Object> payload, String idempotencyKey) {
+        String key = idempotencyService.resolveKey(workflowId, idempotencyKey, payload);
+        return idempotencyService.execute(key, () -> {
+            if (!"buffered".equalsIgnoreCase(webhookMode)) {
+                return executeWorkflowWithPayload(workflowId, payload);
+            }
+
+            requireWorkflow(workflowId);
+            return convertToDTO(webhookBuffer.enqueue(workflowId, payload));
+        });
+    }
+
+    /**
+     * Accepts many triggers of one workflow from a JSON array or NDJSON stream. The
+     * workflow is loaded once and executions are registered QUEUED with batched inserts
+     * one chunk at a time; the call returns once they are all registered, and
+     * {@link com.workflow.engine.QueuedExecutionDrain} starts them as capacity allows.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchTriggerResultDTO triggerBatch(Long workflowId, InputStream body) {
+        CompiledNode startNode = transactionTemplate.execute(status -> {
+            Workflow workflow = workflowRepository.findDefinitionById(workflowId)
+                    .orElseThrow(() -> new WorkflowException("Workflow not found with id: " + workflowId));
+            return graphCache.getCompiledWorkflow(workflow).getStartNode();
+        });
+        if (startNode == null) {
+            throw new WorkflowException("No trigger node found in workflow");
+        }
+
+        BatchTriggerResultDTO result = new BatchTriggerResultDTO(workflowId);
+        List<Object> chunk = new ArrayList<>(batchChunkSize);
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                if (result.getTickets().size() + chunk.size() >= batchMaxItems) {
+                    flushBatchChunk(workflowId, startNode, chunk, result);
+                    result.addError("Batch limit of " + batchMaxItems + " items reached, remaining items ignored");
+                    return result;
+                }
+
+                JsonNode item = items.nextValue();
+                // Rejections stay in the chunk as strings so results keep request order
+                chunk.add(item.isObject() ? objectMapper.convertValue(item, Map.class) : "Item is not a JSON object");
+                if (chunk.size() == batchChunkSize) {
+                    flushBatchChunk(workflowId, startNode, chunk, result);
+                }
+            }
+        } catch (IOException e) {
+            // Everything before the malformed item has been accepted
+            flushBatchChunk(workflowId, startNode, chunk, result);
+            result.addError("Malformed input, batch truncated: " + e.getMessage());
+            return result;
+        }
+
+        flushBatchChunk(workflowId, startNode, chunk, result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flushBatchChunk(Long workflowId, CompiledNode startNode, List<Object> chunk,
+                                 BatchTriggerResultDTO result) {
+        List<ExecutionRecord> records = new ArrayList<>();
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (Object item : chunk) {
+            if (item instanceof Map) {
+                records.add(new ExecutionRecord(UUID.randomUUID().toString(), workflowId));
+                payloads.add((Map<String, Object>) item);
+            }
+        }
+        executionStateStore.registerQueued(records, payloads, startNode);
+
+        int next = 0;
+        for (Object item : chunk) {
+            if (item instanceof Map) {
+                result.addTicket(records.get(next++).getExecutionId());
+            } else {
+                result.addError((String) item);
+            }
+        }
+        chunk.clear();
+    }
+
+    // Runs through the dispatcher so webhook triggers are subject to the same admission
+    // limits; no transaction is held while the caller waits for the execution. A run
+    // that outlasts sync-timeout-seconds is returned unsettled, and answered with 202
+    // and a status URL instead of holding the request thread any longer.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ExecutionStatusDTO executeWorkflowWithPayload(Long workflowId, Map<String, Object> payload) {
+        requireWorkflow(workflowId);
         
-        workflowEngine.executeWorkflow(workflow, payload);
+        ExecutionRecord record = executionDispatcher.dispatch(workflowId, payload);
+        try {
+            record.getSettled().get(syncTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            return convertToDTO(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return convertToDTO(record);
+        } catch (ExecutionException e) {
+            throw new WorkflowException("Workflow execution failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        if (ExecutionRecord.FAILED.equals(record.getStatus())) {
+            throw new WorkflowException(record.getMessage());
+        }
+        return convertToDTO(record);
+    }
+
+    // A cached definition proves the workflow exists without a query
+    private void requireWorkflow(Long workflowId) {
+        if (graphCache.getCached(workflowId) == null && !workflowRepository.existsById(workflowId)) {
+            throw new WorkflowException("Workflow not found with id: " + workflowId);
+        }
     }
 
     public WorkflowDTO activateWorkflow(Long id) {
@@ -189,6 +441,8 @@ public class WorkflowService {
         workflow.setUpdatedAt(LocalDateTime.now());
         
         Workflow savedWorkflow = workflowRepository.save(workflow);
+        graphCache.evict(id);
+        scheduledTriggers.register(savedWorkflow);
         return convertToDTO(savedWorkflow);
     }
 
@@ -200,6 +454,8 @@ public class WorkflowService {
         workflow.setUpdatedAt(LocalDateTime.now());
         
         Workflow savedWorkflow = workflowRepository.save(workflow);
+        graphCache.evict(id);
+        scheduledTriggers.unregister(id);
         return convertToDTO(savedWorkflow);
     }
 
@@ -214,6 +470,43 @@ public class WorkflowService {
         return dto;
     }
 
+    private ExecutionStatusDTO convertToDTO(ExecutionRecord record) {
+        ExecutionStatusDTO dto = new ExecutionStatusDTO();
+        dto.setExecutionId(record.getExecutionId());
+        dto.setWorkflowId(record.getWorkflowId());
+        dto.setStatus(record.getStatus());
+        dto.setMessage(record.getMessage());
+        dto.setSubmittedAt(record.getSubmittedAt());
+        dto.setStartedAt(record.getStartedAt());
+        dto.setCompletedAt(record.getCompletedAt());
+        return dto;
+    }
+
+    private ExecutionStatusDTO convertToDTO(WorkflowExecution execution) {
+        ExecutionStatusDTO dto = new ExecutionStatusDTO();
+        dto.setExecutionId(execution.getId());
+        dto.setWorkflowId(execution.getWorkflowId());
+        dto.setStatus(execution.getStatus());
+        dto.setMessage(execution.getMessage());
+        dto.setSubmittedAt(execution.getCreatedAt());
+        if (ExecutionRecord.COMPLETED.equals(execution.getStatus()) || ExecutionRecord.FAILED.equals(execution.getStatus())) {
+            dto.setCompletedAt(execution.getUpdatedAt());
+        }
+        return dto;
+    }
+
+    private ExecutionLogDTO convertToDTO(ExecutionLogSummary log) {
+        ExecutionLogDTO dto = new ExecutionLogDTO();
+        dto.setId(log.getId());
+        dto.setWorkflowId(log.getWorkflowId());
+        dto.setExecutionId(log.getExecutionId());
+        dto.setTaskId(log.getTaskId());
+        dto.setNodeId(log.getNodeId());
+        dto.setStatus(log.getStatus());
+        dto.setCreatedAt(log.getCreatedAt());
+        return dto;
+    }
+
     private Workflow convertToEntity(WorkflowDTO dto) {
         Workflow workflow = new Workflow();
         workflow.setId(dto.getId());
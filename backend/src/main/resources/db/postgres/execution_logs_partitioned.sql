@@ -0,0 +1,41 @@
+-- Converts execution_logs into a table partitioned by day on created_at.
+-- LogRetentionService detects the partitioned table on startup, creates the
+-- partitions of the coming days and archives and drops expired ones. Rows outside
+-- every daily partition land in execution_logs_default and are removed with
+-- batched deletes instead.
+--
+-- Run once during a maintenance window; the existing rows are copied over.
+
+BEGIN;
+
+ALTER TABLE execution_logs RENAME TO execution_logs_old;
+ALTER INDEX IF EXISTS idx_execution_logs_execution_id RENAME TO idx_execution_logs_old_execution_id;
+ALTER INDEX IF EXISTS idx_execution_logs_workflow_id RENAME TO idx_execution_logs_old_workflow_id;
+
+CREATE TABLE execution_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    workflow_id BIGINT NOT NULL,
+    execution_id VARCHAR(255),
+    task_id BIGINT,
+    node_id VARCHAR(255),
+    status VARCHAR(255) NOT NULL,
+    message TEXT,
+    data TEXT,
+    created_at TIMESTAMP NOT NULL,
+    -- The partition key has to be part of every unique constraint
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE execution_logs_default PARTITION OF execution_logs DEFAULT;
+
+CREATE INDEX idx_execution_logs_execution_id ON execution_logs(execution_id);
+CREATE INDEX idx_execution_logs_workflow_id ON execution_logs(workflow_id, id);
+
+INSERT INTO execution_logs (id, workflow_id, execution_id, task_id, node_id, status, message, data, created_at)
+SELECT id, workflow_id, execution_id, task_id, node_id, status, message, data, created_at FROM execution_logs_old;
+
+SELECT setval(pg_get_serial_sequence('execution_logs', 'id'), COALESCE((SELECT MAX(id) FROM execution_logs), 0) + 1, false);
+
+DROP TABLE execution_logs_old;
+
+COMMIT;
@@ -0,0 +1,178 @@
+package com.workflow.engine;
+
+import com.workflow.model.Workflow;
+import com.workflow.model.WorkflowEdge;
+import com.workflow.model.WorkflowNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledWorkflowTest {
+
+    private final List<WorkflowNode> nodes = new ArrayList<>();
+    private final List<WorkflowEdge> edges = new ArrayList<>();
+
+    @Test
+    void diamondIsAJoinWithoutBackEdges() {
+        node("start", "trigger");
+        node("a", "action");
+        node("b", "action");
+        node("join", "action");
+        edge("start", "a");
+        edge("start", "b");
+        edge("a", "join");
+        edge("b", "join");
+
+        CompiledWorkflow graph = compile();
+
+        assertFalse(graph.isCyclic());
+        assertEquals("start", graph.getStartNode().getNodeId());
+        assertTrue(graph.getNode("join").isJoin());
+        assertEquals(List.of("a", "b"), graph.getNode("join").getIncomingSources());
+        graph.getNodes().forEach(node -> node.getOutgoing().forEach(edge -> assertFalse(edge.isBackEdge())));
+    }
+
+    @Test
+    void edgeClosingALoopIsABackEdgeAndNoJoinInput() {
+        node("start", "trigger");
+        node("header", "action");
+        node("body", "action");
+        node("end", "action");
+        edge("start", "header");
+        edge("header", "body");
+        edge("body", "header");
+        edge("body", "end");
+
+        CompiledWorkflow graph = compile();
+
+        assertTrue(graph.isCyclic());
+        CompiledEdge back = outgoing(graph, "body", "header");
+        assertTrue(back.isBackEdge());
+        assertEquals(Set.of("header", "body"), back.getLoopBody());
+        assertFalse(outgoing(graph, "header", "body").isBackEdge());
+        assertFalse(outgoing(graph, "body", "end").isBackEdge());
+        // Only the forward edge counts, so the loop header never waits for its own back edge
+        assertEquals(List.of("start"), graph.getNode("header").getIncomingSources());
+        assertFalse(graph.getNode("header").isJoin());
+    }
+
+    @Test
+    void loopBodyStopsAtTheHeader() {
+        node("start", "trigger");
+        node("before", "action");
+        node("header", "action");
+        node("left", "action");
+        node("right", "action");
+        node("latch", "action");
+        edge("start", "before");
+        edge("before", "header");
+        edge("header", "left");
+        edge("header", "right");
+        edge("left", "latch");
+        edge("right", "latch");
+        edge("latch", "header");
+
+        CompiledWorkflow graph = compile();
+
+        assertEquals(Set.of("header", "left", "right", "latch"), outgoing(graph, "latch", "header").getLoopBody());
+        assertTrue(graph.getNode("latch").isJoin());
+    }
+
+    @Test
+    void selfLoopIsABackEdge() {
+        node("start", "trigger");
+        node("poll", "action");
+        edge("start", "poll");
+        edge("poll", "poll");
+
+        CompiledWorkflow graph = compile();
+
+        assertTrue(graph.isCyclic());
+        assertTrue(outgoing(graph, "poll", "poll").isBackEdge());
+        assertEquals(Set.of("poll"), outgoing(graph, "poll", "poll").getLoopBody());
+    }
+
+    @Test
+    void cyclesUnreachableFromTheStartAreStillMarked() {
+        node("start", "trigger");
+        node("u", "action");
+        node("v", "action");
+        edge("u", "v");
+        edge("v", "u");
+
+        CompiledWorkflow graph = compile();
+
+        assertTrue(graph.isCyclic());
+        assertTrue(outgoing(graph, "v", "u").isBackEdge());
+        assertFalse(outgoing(graph, "u", "v").isBackEdge());
+    }
+
+    @Test
+    void nodeFedByTwoTriggersOnlyWaitsForTheOneThatFired() {
+        node("webhook", "trigger");
+        node("schedule", "trigger");
+        node("shared", "action");
+        node("after", "action");
+        edge("webhook", "shared");
+        edge("schedule", "shared");
+        edge("shared", "after");
+
+        CompiledWorkflow graph = compile();
+
+        assertEquals(Set.of("schedule", "shared", "after"), graph.reachableFrom("schedule"));
+        // The default start node is the first trigger
+        assertEquals(Set.of("webhook", "shared", "after"), graph.reachableFrom(null));
+
+        JoinBarrier barrier = new JoinBarrier(graph.getNode("shared"), graph.reachableFrom("schedule"));
+        assertTrue(barrier.arrive("schedule", true, Map.of("fired", true)));
+        assertEquals(Map.of("fired", true), barrier.mergedInput());
+    }
+
+    @Test
+    void edgesToUnknownNodesAreIgnored() {
+        node("start", "trigger");
+        edge("start", "missing");
+
+        CompiledWorkflow graph = compile();
+
+        assertTrue(graph.getStartNode().getOutgoing().isEmpty());
+        assertNull(graph.getNode("missing"));
+    }
+
+    private CompiledWorkflow compile() {
+        Workflow workflow = new Workflow();
+        workflow.setId(1L);
+        workflow.setNodes(nodes);
+        workflow.setEdges(edges);
+        return CompiledWorkflow.compile(workflow, new ConditionEvaluator());
+    }
+
+    private void node(String nodeId, String type) {
+        WorkflowNode node = new WorkflowNode();
+        node.setNodeId(nodeId);
+        node.setType(type);
+        nodes.add(node);
+    }
+
+    private void edge(String source, String target) {
+        WorkflowEdge edge = new WorkflowEdge();
+        edge.setSourceNodeId(source);
+        edge.setTargetNodeId(target);
+        edges.add(edge);
+    }
+
+    private CompiledEdge outgoing(CompiledWorkflow graph, String source, String target) {
+        return graph.getNode(source).getOutgoing().stream()
+                .filter(edge -> edge.getTarget().getNodeId().equals(target))
+                .findFirst()
+                .orElseThrow();
+    }
+}
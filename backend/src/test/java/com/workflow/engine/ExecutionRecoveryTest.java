@@ -0,0 +1,102 @@
+package com.workflow.engine;
+
+import com.workflow.model.WorkflowExecution;
+import com.workflow.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionRecoveryTest {
+
+    @Mock
+    private ExecutionStateStore stateStore;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @Mock
+    private ParkedNodeDeadlines parkedDeadlines;
+
+    @InjectMocks
+    private ExecutionRecovery recovery;
+
+    @BeforeEach
+    void enable() {
+        ReflectionTestUtils.setField(recovery, "recoveryEnabled", true);
+    }
+
+    @Test
+    void recoversAbandonedExecutions() {
+        WorkflowExecution abandoned = execution("exec-1");
+        when(stateStore.findAbandoned()).thenReturn(List.of(abandoned));
+        when(stateStore.takeOver(abandoned)).thenReturn(true);
+        when(executionDispatcher.dispatchRecovery("exec-1", 1L)).thenReturn(true);
+
+        recovery.recoverAbandonedExecutions();
+
+        verify(executionDispatcher).dispatchRecovery("exec-1", 1L);
+        verify(stateStore, never()).releaseLease(anyString());
+    }
+
+    @Test
+    void leavesExecutionsItCouldNotTakeOver() {
+        // Its owner renewed the lease, or another instance took it first
+        WorkflowExecution live = execution("exec-1");
+        when(stateStore.findAbandoned()).thenReturn(List.of(live));
+        when(stateStore.takeOver(live)).thenReturn(false);
+
+        recovery.recoverAbandonedExecutions();
+
+        verify(taskRepository, never()).findByExecutionIdAndStatus(anyString(), anyString());
+        verify(executionDispatcher, never()).dispatchRecovery(anyString(), anyLong());
+    }
+
+    @Test
+    void releasesTheLeaseWhenSaturated() {
+        WorkflowExecution first = execution("exec-1");
+        WorkflowExecution second = execution("exec-2");
+        when(stateStore.findAbandoned()).thenReturn(List.of(first, second));
+        when(stateStore.takeOver(first)).thenReturn(true);
+        when(executionDispatcher.dispatchRecovery("exec-1", 1L)).thenReturn(false);
+
+        recovery.recoverAbandonedExecutions();
+
+        verify(stateStore).releaseLease("exec-1");
+        verify(stateStore, never()).takeOver(second);
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        ReflectionTestUtils.setField(recovery, "recoveryEnabled", false);
+
+        recovery.recoverAbandonedExecutions();
+
+        verify(stateStore, never()).findAbandoned();
+        verify(stateStore, never()).takeOver(any());
+    }
+
+    private WorkflowExecution execution(String id) {
+        WorkflowExecution execution = new WorkflowExecution();
+        execution.setId(id);
+        execution.setWorkflowId(1L);
+        execution.setStatus("RUNNING");
+        return execution;
+    }
+}
@@ -0,0 +1,93 @@
+package com.workflow.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workflow.model.WorkflowExecution;
+import com.workflow.repository.TaskRepository;
+import com.workflow.repository.WorkflowExecutionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionStateStoreTest {
+
+    @Mock
+    private WorkflowExecutionRepository executionRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ExecutionStateStore stateStore;
+
+    @Test
+    void claimsTaskThenExecution() {
+        when(taskRepository.transitionStatus(7L, "WAITING", "RESUMING")).thenReturn(1);
+        when(executionRepository.claim(eq("exec-1"), eq("WAITING"), eq("RUNNING"), any(), any(), any())).thenReturn(1);
+
+        assertEquals(ExecutionStateStore.ResumeClaim.CLAIMED, stateStore.claimForResume(7L, "exec-1"));
+    }
+
+    @Test
+    void staleDecisionNeverTouchesTheExecution() {
+        // The task was resumed already; the execution may be WAITING again at a later node
+        when(taskRepository.transitionStatus(7L, "WAITING", "RESUMING")).thenReturn(0);
+
+        assertEquals(ExecutionStateStore.ResumeClaim.TASK_NOT_WAITING, stateStore.claimForResume(7L, "exec-1"));
+        verify(executionRepository, never()).claim(anyString(), anyString(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void busyExecutionPutsTheTaskBack() {
+        when(taskRepository.transitionStatus(7L, "WAITING", "RESUMING")).thenReturn(1);
+        when(executionRepository.claim(eq("exec-1"), eq("WAITING"), eq("RUNNING"), any(), any(), any())).thenReturn(0);
+
+        assertEquals(ExecutionStateStore.ResumeClaim.EXECUTION_BUSY, stateStore.claimForResume(7L, "exec-1"));
+        verify(taskRepository).transitionStatus(7L, "RESUMING", "WAITING");
+    }
+
+    @Test
+    void releasingAClaimRestoresBothRows() {
+        stateStore.releaseClaim("exec-1", 7L);
+
+        verify(executionRepository).release(eq("exec-1"), any(), eq("RUNNING"), eq("WAITING"), any());
+        verify(taskRepository).transitionStatus(7L, "RESUMING", "WAITING");
+    }
+
+    @Test
+    void takesOverOnlyWhileTheLeaseIsStillExpired() {
+        WorkflowExecution execution = new WorkflowExecution();
+        execution.setId("exec-1");
+        execution.setStatus("RUNNING");
+        when(executionRepository.takeOver(eq("exec-1"), eq("RUNNING"), eq("RUNNING"), any(), any(), any())).thenReturn(0);
+
+        // The owner renewed between the scan and the update
+        assertFalse(stateStore.takeOver(execution));
+    }
+
+    @Test
+    void lostOwnershipFailsTheCheckpoint() {
+        ExecutionRun run = mock(ExecutionRun.class);
+        when(run.getExecutionId()).thenReturn("exec-1");
+        when(run.toCheckpoint()).thenReturn(new ExecutionCheckpoint());
+        when(executionRepository.saveCheckpoint(eq("exec-1"), any(), anyString(), any(), any())).thenReturn(0);
+
+        assertFalse(stateStore.checkpoint(run));
+    }
+}
@@ -0,0 +1,78 @@
+package com.workflow.engine;
+
+import com.workflow.model.WorkflowNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JoinBarrierTest {
+
+    @Test
+    void opensOnTheLastIncomingPath() {
+        JoinBarrier barrier = new JoinBarrier(join("a", "b", "c"));
+
+        assertFalse(barrier.arrive("a", true, Map.of("x", 1)));
+        assertFalse(barrier.arrive("c", true, Map.of("y", 2)));
+        assertTrue(barrier.arrive("b", true, Map.of("z", 3)));
+    }
+
+    @Test
+    void skippedPathsCountButBringNoInput() {
+        JoinBarrier barrier = new JoinBarrier(join("a", "b"));
+
+        assertFalse(barrier.arrive("a", false, null));
+        assertFalse(barrier.hasInput());
+        assertTrue(barrier.arrive("b", false, null));
+        assertFalse(barrier.hasInput());
+    }
+
+    @Test
+    void mergesInDeclarationOrderWhateverTheArrivalOrder() {
+        JoinBarrier barrier = new JoinBarrier(join("a", "b"));
+
+        barrier.arrive("b", true, Map.of("value", "from b", "onlyB", true));
+        barrier.arrive("a", true, Map.of("value", "from a", "onlyA", true));
+
+        // Later declared sources win on conflicting keys
+        assertEquals(Map.of("value", "from b", "onlyA", true, "onlyB", true), barrier.mergedInput());
+    }
+
+    @Test
+    void singleFiredPathPassesItsOutputThrough() {
+        JoinBarrier barrier = new JoinBarrier(join("a", "b"));
+        Map<String, Object> output = Map.of("value", 1);
+
+        barrier.arrive("a", true, output);
+        barrier.arrive("b", false, null);
+
+        assertEquals(output, barrier.mergedInput());
+    }
+
+    @Test
+    void survivesACheckpoint() {
+        JoinBarrier barrier = new JoinBarrier(join("a", "b"));
+        barrier.arrive("a", true, Map.of("value", 1));
+
+        ExecutionCheckpoint.PendingJoin saved = barrier.toCheckpoint();
+        JoinBarrier restored = new JoinBarrier(join("a", "b"), saved.getPending(), saved.getInputs());
+
+        assertTrue(restored.hasInput());
+        assertTrue(restored.arrive("b", false, null));
+        assertEquals(Map.of("value", 1), restored.mergedInput());
+    }
+
+    private CompiledNode join(String... sources) {
+        WorkflowNode node = new WorkflowNode();
+        node.setNodeId("join");
+        node.setType("action");
+        CompiledNode compiled = new CompiledNode(node);
+        for (String source : sources) {
+            compiled.addIncoming(source);
+        }
+        return compiled;
+    }
+}
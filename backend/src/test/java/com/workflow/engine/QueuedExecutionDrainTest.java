@@ -0,0 +1,80 @@
+package com.workflow.engine;
+
+import com.workflow.exception.ExecutionRejectedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueuedExecutionDrainTest {
+
+    @Mock
+    private ExecutionStateStore stateStore;
+
+    @Mock
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @InjectMocks
+    private QueuedExecutionDrain drain;
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(drain, "enabled", true);
+        ReflectionTestUtils.setField(drain, "perWorkflow", 2);
+    }
+
+    @Test
+    void fullLaneDoesNotHoldBackOtherWorkflows() {
+        when(stateStore.findQueuedWorkflowIds()).thenReturn(List.of(1L, 2L));
+        when(stateStore.findQueued(1L, 2)).thenReturn(List.of("a-1", "a-2"));
+        when(stateStore.findQueued(2L, 2)).thenReturn(List.of("b-1"));
+        when(stateStore.claimQueued(anyString())).thenReturn(true);
+        when(executionDispatcher.dispatchQueued("a-1", 1L))
+                .thenThrow(new ExecutionRejectedException("lane full", 1, HttpStatus.TOO_MANY_REQUESTS));
+
+        drain.drain();
+
+        verify(stateStore).releaseQueued("a-1");
+        verify(executionDispatcher, never()).dispatchQueued("a-2", 1L);
+        verify(executionDispatcher).dispatchQueued("b-1", 2L);
+    }
+
+    @Test
+    void saturationEndsThePass() {
+        when(stateStore.findQueuedWorkflowIds()).thenReturn(List.of(1L, 2L));
+        when(stateStore.findQueued(1L, 2)).thenReturn(List.of("a-1"));
+        when(stateStore.claimQueued("a-1")).thenReturn(true);
+        when(executionDispatcher.dispatchQueued("a-1", 1L))
+                .thenThrow(new ExecutionRejectedException("queue full", 1));
+
+        drain.drain();
+
+        verify(stateStore).releaseQueued("a-1");
+        verify(stateStore, never()).findQueued(eq(2L), eq(2));
+    }
+
+    @Test
+    void skipsExecutionsClaimedElsewhere() {
+        when(stateStore.findQueuedWorkflowIds()).thenReturn(List.of(1L));
+        when(stateStore.findQueued(1L, 2)).thenReturn(List.of("a-1"));
+        when(stateStore.claimQueued("a-1")).thenReturn(false);
+
+        drain.drain();
+
+        verify(executionDispatcher, never()).dispatchQueued(anyString(), anyLong());
+    }
+}
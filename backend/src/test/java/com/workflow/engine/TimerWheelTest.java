@@ -0,0 +1,92 @@
+package com.workflow.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    // 8 buckets of 10ms: one revolution is 80ms
+    private final TimerWheel wheel = new TimerWheel("test-wheel", 10, 8, Runnable::run);
+
+    @AfterEach
+    void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    void firesNoEarlierThanTheDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        TimerWheel.Timeout timeout = wheel.schedule(fired::countDown, 50);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirRound() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(fired::countDown, 250);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 250);
+    }
+
+    @Test
+    void nonPositiveDelaysFireOnTheNextTick() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(2);
+        wheel.schedule(fired::countDown, 0);
+        wheel.schedule(fired::countDown, -100);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelledTimeoutsNeverFire() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        TimerWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 30);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(150);
+
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void expiredTimeoutsCannotBeCancelled() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        TimerWheel.Timeout timeout = wheel.schedule(fired::countDown, 10);
+
+        assertTrue(fired.await(1, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isCancelled());
+    }
+
+    @Test
+    void timeoutsOfTheSameBucketFireIndependently() throws InterruptedException {
+        // 20ms and 100ms land in the same bucket, one revolution apart
+        CountDownLatch early = new CountDownLatch(1);
+        CountDownLatch late = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(early::countDown, 20);
+        wheel.schedule(late::countDown, 100);
+
+        assertTrue(early.await(1, TimeUnit.SECONDS));
+        assertTrue(late.await(1, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+    }
+}
@@ -0,0 +1,87 @@
+package com.workflow.engine;
+
+import com.workflow.exception.WorkflowException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowExecutionDispatcherTest {
+
+    @Mock
+    private ExecutionStateStore stateStore;
+
+    @Mock
+    private WorkflowGraphCache graphCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TransactionTemplate loadTemplate;
+
+    @InjectMocks
+    private WorkflowExecutionDispatcher dispatcher;
+
+    @BeforeEach
+    void start() {
+        ReflectionTestUtils.setField(dispatcher, "poolSize", 1);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 10);
+        ReflectionTestUtils.setField(dispatcher, "maxConcurrentPerWorkflow", 1);
+        ReflectionTestUtils.setField(dispatcher, "perWorkflowQueueCapacity", 10);
+        dispatcher.init();
+        // Every definition misses the cache and is read in the load transaction
+        ReflectionTestUtils.setField(dispatcher, "loadTemplate", loadTemplate);
+    }
+
+    @AfterEach
+    void stop() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void handsQueuedExecutionsBackOnTransientErrors() {
+        when(loadTemplate.execute(any())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        dispatcher.dispatchQueued("exec-1", 1L);
+
+        verify(stateStore, timeout(1000)).releaseQueued("exec-1");
+        verify(stateStore, never()).finished(anyString(), anyString(), anyString());
+        assertTrue(dispatcher.getExecution("exec-1").isEmpty());
+    }
+
+    @Test
+    void handsRecoveredExecutionsBackOnTransientErrors() {
+        when(loadTemplate.execute(any())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertTrue(dispatcher.dispatchRecovery("exec-1", 1L));
+
+        verify(stateStore, timeout(1000)).releaseLease("exec-1");
+        verify(stateStore, never()).finished(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void failsExecutionsOfMissingWorkflows() {
+        when(loadTemplate.execute(any())).thenThrow(new WorkflowException("Workflow not found with id: 1"));
+
+        dispatcher.dispatchQueued("exec-1", 1L);
+
+        verify(stateStore, timeout(1000)).finished("exec-1", ExecutionStateStore.FAILED, "Workflow not found with id: 1");
+        verify(stateStore, never()).releaseQueued(anyString());
+    }
+}
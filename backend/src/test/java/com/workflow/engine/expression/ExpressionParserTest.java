@@ -0,0 +1,102 @@
+package com.workflow.engine.expression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpressionParserTest {
+
+    private static boolean test(String condition, Map<String, Object> context) {
+        return ExpressionParser.parse(condition).test(context);
+    }
+
+    @Test
+    void comparesNumbersNumerically() {
+        Map<String, Object> context = Map.of("amount", 1500, "limit", "1000.0");
+        assertTrue(test("amount > 1000", context));
+        assertTrue(test("amount >= limit", context));
+        assertFalse(test("amount < limit", context));
+        assertTrue(test("amount == 1500.0", context));
+    }
+
+    @Test
+    void honoursPrecedenceAndParentheses() {
+        Map<String, Object> context = Map.of("a", 1, "b", 2, "c", 3);
+        assertTrue(test("a + b * c == 7", context));
+        assertTrue(test("(a + b) * c == 9", context));
+        assertTrue(test("a == 1 && b == 2 || c == 0", context));
+        assertFalse(test("not (a == 1 and b == 2)", context));
+    }
+
+    @Test
+    void resolvesNestedPathsAndListIndexes() {
+        Map<String, Object> context = Map.of("user", Map.of("role", "admin"),
+                "items", List.of(Map.of("name", "first")));
+        assertTrue(test("user.role == 'admin'", context));
+        assertTrue(test("items.0.name == \"first\"", context));
+        assertFalse(test("items.1.name == 'first'", context));
+    }
+
+    @Test
+    void foldsLiteralOnlyExpressions() {
+        Expression expression = ExpressionParser.parse("2 * 3 == 6");
+        assertInstanceOf(ConstantExpression.class, expression);
+        assertEquals(Boolean.TRUE, expression.evaluate(null));
+    }
+
+    @Test
+    void comparesUnquotedNamesAsText() {
+        assertTrue(test("status == approved", Map.of("status", "approved")));
+        assertFalse(test("status != approved", Map.of("status", "approved")));
+        // Even when the name is also a context key, as the old evaluator did
+        assertFalse(test("status == approved", Map.of("status", "pending", "approved", "pending")));
+        assertTrue(test("decision == approved", Map.of("decision", "approved", "approved", true)));
+    }
+
+    @Test
+    void comparesDottedPathsAsText() {
+        assertTrue(test("x == a.b", Map.of("x", "a.b")));
+        assertFalse(test("x == a.b", Map.of("x", "c", "a", Map.of("b", "c"))));
+    }
+
+    @Test
+    void resolvesParenthesizedRightHandPaths() {
+        assertTrue(test("status == (approved)", Map.of("status", "pending", "approved", "pending")));
+        assertTrue(test("x != (a.b)", Map.of("x", "c", "a", Map.of("b", "d"))));
+    }
+
+    @Test
+    void keepsLegacySemanticsForJoinedWords() {
+        assertTrue(test("status == in-progress", Map.of("status", "in-progress")));
+        assertTrue(test("date == 2024-01-01", Map.of("date", "2024-01-01")));
+        assertFalse(test("date == 2024-01-01", Map.of("date", 2022)));
+        assertTrue(test("path != a/b", Map.of("path", "a/c")));
+    }
+
+    @Test
+    void keepsLegacySemanticsForValuesWithSpaces() {
+        assertTrue(test("city == New York", Map.of("city", "New York")));
+        assertFalse(test("city == New York", Map.of("city", "Boston")));
+        assertTrue(test("city != New York", Map.of()));
+        assertFalse(test("city == New York", Map.of()));
+    }
+
+    @Test
+    void parsesArithmeticWithSpacesNormally() {
+        assertTrue(test("count == total - 1", Map.of("count", 4, "total", 5)));
+    }
+
+    @Test
+    void rejectsMalformedConditions() {
+        assertThrows(ExpressionException.class, () -> ExpressionParser.parse("(a == 1"));
+        assertThrows(ExpressionException.class, () -> ExpressionParser.parse("a > 'open"));
+        assertThrows(ExpressionException.class, () -> ExpressionParser.parse("a # b"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.workflow.service;
+
+import com.workflow.dto.CursorPage;
+import com.workflow.dto.TaskDTO;
+import com.workflow.repository.TaskRepository;
+import com.workflow.repository.TaskSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExecutionServicePagingTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskExecutionService taskExecutionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskExecutionService, "defaultPageSize", 50);
+        ReflectionTestUtils.setField(taskExecutionService, "maxPageSize", 500);
+    }
+
+    @Test
+    void extraRowIsTrimmedAndBecomesTheNextCursor() {
+        when(taskRepository.findPageDescending(isNull(), isNull(), isNull(), isNull(), isNull(), eq(PageRequest.of(0, 3))))
+                .thenReturn(summaries(9L, 8L, 7L));
+
+        CursorPage<TaskDTO> page = taskExecutionService.getTasks(null, null, null, null, null, 2, false);
+
+        assertEquals(List.of(9L, 8L), ids(page));
+        // The next page starts after the last row returned, not after the probe row
+        assertEquals(8L, page.getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(taskRepository.findPageDescending(isNull(), isNull(), isNull(), isNull(), eq(8L), eq(PageRequest.of(0, 3))))
+                .thenReturn(summaries(7L, 6L));
+
+        CursorPage<TaskDTO> page = taskExecutionService.getTasks(null, null, null, null, 8L, 2, false);
+
+        assertEquals(List.of(7L, 6L), ids(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void ascendingPagesUseTheAscendingQuery() {
+        when(taskRepository.findPageAscending(eq("COMPLETED"), eq(1L), isNull(), isNull(), eq(3L), eq(PageRequest.of(0, 3))))
+                .thenReturn(summaries(4L, 5L, 6L));
+
+        CursorPage<TaskDTO> page = taskExecutionService.getTasks("COMPLETED", 1L, null, null, 3L, 2, true);
+
+        assertEquals(List.of(4L, 5L), ids(page));
+        assertEquals(5L, page.getNextCursor());
+        verify(taskRepository, never()).findPageDescending(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void limitDefaultsAndIsCapped() {
+        when(taskRepository.findPageDescending(any(), any(), any(), any(), any(), any())).thenReturn(new ArrayList<>());
+
+        taskExecutionService.getTasks(null, null, null, null, null, null, false);
+        taskExecutionService.getTasks(null, null, null, null, null, 0, false);
+        taskExecutionService.getTasks(null, null, null, null, null, 100000, false);
+
+        verify(taskRepository, times(2))
+                .findPageDescending(any(), any(), any(), any(), any(), eq(PageRequest.of(0, 51)));
+        verify(taskRepository).findPageDescending(any(), any(), any(), any(), any(), eq(PageRequest.of(0, 501)));
+    }
+
+    private List<TaskSummary> summaries(Long... ids) {
+        List<TaskSummary> summaries = new ArrayList<>();
+        for (Long id : ids) {
+            TaskSummary summary = mock(TaskSummary.class);
+            // The probe row is never read
+            lenient().when(summary.getId()).thenReturn(id);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    private List<Long> ids(CursorPage<TaskDTO> page) {
+        return page.getItems().stream().map(TaskDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,81 @@
+package com.workflow.service;
+
+import com.workflow.engine.ExecutionRecord;
+import com.workflow.engine.ExecutionStateStore;
+import com.workflow.engine.WorkflowExecutionDispatcher;
+import com.workflow.exception.ExecutionRejectedException;
+import com.workflow.exception.WorkflowException;
+import com.workflow.model.Task;
+import com.workflow.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExecutionServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ExecutionStateStore executionStateStore;
+
+    @Mock
+    private WorkflowExecutionDispatcher executionDispatcher;
+
+    @InjectMocks
+    private TaskExecutionService taskExecutionService;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        task = new Task();
+        task.setId(7L);
+        task.setWorkflowId(1L);
+        task.setExecutionId("exec-1");
+        task.setStatus("WAITING");
+        when(taskRepository.findById(7L)).thenReturn(Optional.of(task));
+    }
+
+    @Test
+    void approvalResumesTheClaimedExecution() {
+        when(executionStateStore.claimForResume(7L, "exec-1")).thenReturn(ExecutionStateStore.ResumeClaim.CLAIMED);
+        when(executionDispatcher.dispatchResume(eq("exec-1"), eq(1L), eq(7L), any()))
+                .thenReturn(new ExecutionRecord("exec-1", 1L));
+
+        assertEquals("exec-1", taskExecutionService.approveTask(7L, null).getExecutionId());
+    }
+
+    @Test
+    void staleApprovalIsRejectedWithoutResuming() {
+        // Read as WAITING, but another decision resumed it before the claim
+        when(executionStateStore.claimForResume(7L, "exec-1")).thenReturn(ExecutionStateStore.ResumeClaim.TASK_NOT_WAITING);
+
+        assertThrows(WorkflowException.class, () -> taskExecutionService.approveTask(7L, null));
+        verify(executionDispatcher, never()).dispatchResume(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void busyExecutionAsksTheCallerToRetry() {
+        when(executionStateStore.claimForResume(7L, "exec-1")).thenReturn(ExecutionStateStore.ResumeClaim.EXECUTION_BUSY);
+
+        assertThrows(ExecutionRejectedException.class, () -> taskExecutionService.rejectTask(7L, null));
+        verify(executionDispatcher, never()).dispatchResume(anyString(), anyLong(), anyLong(), any());
+    }
+}
@@ -23,7 +23,7 @@ function DashboardHome() {
     try {
       setLoading(true);
 
-      // Load workflows and tasks
+      // Load every workflow and task; the stats count all of them
       const [workflows, tasks] = await Promise.all([
         workflowService.getWorkflows(),
         workflowService.getTasks()
@@ -44,9 +44,9 @@ function DashboardHome() {
         failedTasks
       });
 
-      // Set recent items (last 5)
-      setRecentWorkflows(workflows.slice(-5).reverse());
-      setRecentTasks(tasks.slice(-5).reverse());
+      // Set recent items (lists arrive newest first)
+      setRecentWorkflows(workflows.slice(0, 5));
+      setRecentTasks(tasks.slice(0, 5));
 
     } catch (error) {
       console.error('Error loading dashboard data:', error);
@@ -6,16 +6,25 @@ function TaskList() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [filter, setFilter] = useState('all');
+  // Task listings omit results; the full task is loaded when its details are opened
+  const [details, setDetails] = useState({});
+  // Cursor of the next page, null once every task is loaded
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadTasks();
-  }, []);
+  }, [filter]);
+
+  // The server filters by status, so a page is never thinned out client-side
+  const statusParam = () => (filter === 'all' ? null : filter.toUpperCase());
 
   const loadTasks = async () => {
     try {
       setLoading(true);
-      const response = await workflowService.getTasks();
-      setTasks(response);
+      const page = await workflowService.getTasksPage(null, statusParam());
+      setTasks(page.items);
+      setNextCursor(page.nextCursor);
       setError(null);
     } catch (err) {
       setError('Failed to load tasks');
@@ -25,6 +34,20 @@ function TaskList() {
     }
   };
 
+  const loadMoreTasks = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await workflowService.getTasksPage(nextCursor, statusParam());
+      setTasks((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError('Failed to load more tasks');
+      console.error('Error loading more tasks:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleExecuteTask = async (taskId) => {
     try {
       await workflowService.executeTask(taskId);
@@ -45,6 +68,20 @@ function TaskList() {
     }
   };
 
+  const handleToggleDetails = async (taskId) => {
+    if (details[taskId]) {
+      setDetails(({ [taskId]: _, ...rest }) => rest);
+      return;
+    }
+    try {
+      const task = await workflowService.getTask(taskId);
+      setDetails((current) => ({ ...current, [taskId]: task }));
+    } catch (err) {
+      setError('Failed to load task details');
+      console.error('Error loading task details:', err);
+    }
+  };
+
   const getStatusBadgeClass = (status) => {
     switch (status?.toLowerCase()) {
       case 'completed':
@@ -77,11 +114,6 @@ function TaskList() {
     }
   };
 
-  const filteredTasks = tasks.filter(task => {
-    if (filter === 'all') return true;
-    return task.status?.toLowerCase() === filter;
-  });
-
   if (loading) {
     return (
       <div className="d-flex justify-content-center p-4">
@@ -180,7 +212,7 @@ function TaskList() {
         </div>
       </div>
 
-      {filteredTasks.length === 0 ? (
+      {tasks.length === 0 ? (
         <div className="text-center p-5">
           <i className="fas fa-inbox fa-3x text-muted mb-3"></i>
           <h5 className="text-muted">No tasks found</h5>
@@ -193,7 +225,7 @@ function TaskList() {
         </div>
       ) : (
         <div className="row">
-          {filteredTasks.map((task) => (
+          {tasks.map((task) => (
             <div key={task.id} className="col-md-6 col-lg-4 mb-3">
               <div className="card h-100">
                 <div className="card-body">
@@ -211,9 +243,9 @@ function TaskList() {
                     </small>
                   </p>
 
-                  {task.result && (
+                  {details[task.id]?.result && (
                     <p className="card-text">
-                      <small>{task.result}</small>
+                      <small>{details[task.id].result}</small>
                     </p>
                   )}
 
@@ -262,8 +294,11 @@ function TaskList() {
                       </button>
                     )}
 
-                    <button className="btn btn-sm btn-outline-secondary">
-                      <i className="fas fa-eye me-1"></i>
+                    <button
+                      className="btn btn-sm btn-outline-secondary"
+                      onClick={() => handleToggleDetails(task.id)}
+                    >
+                      <i className={`fas ${details[task.id] ? 'fa-eye-slash' : 'fa-eye'} me-1`}></i>
                       Details
                     </button>
                   </div>
@@ -273,6 +308,19 @@ function TaskList() {
           ))}
         </div>
       )}
+
+      {nextCursor && (
+        <div className="text-center mb-3">
+          <button
+            className="btn btn-outline-secondary"
+            onClick={loadMoreTasks}
+            disabled={loadingMore}
+          >
+            <i className={`fas ${loadingMore ? 'fa-spinner fa-spin' : 'fa-chevron-down'} me-2`}></i>
+            Load More
+          </button>
+        </div>
+      )}
     </div>
   );
 }
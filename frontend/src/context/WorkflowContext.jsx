@@ -8,6 +8,9 @@ export const WorkflowContext = createContext();
 export const WorkflowProvider = ({ children }) => {
   const [workflows, setWorkflows] = useState([]);
   const [tasks, setTasks] = useState([]);
+  // Cursors of the next pages, null once everything is loaded
+  const [workflowsCursor, setWorkflowsCursor] = useState(null);
+  const [tasksCursor, setTasksCursor] = useState(null);
   const [notifications, setNotifications] = useState([]);
   const [isConnected, setIsConnected] = useState(false);
   const { isAuthenticated, token } = useContext(AuthContext);
@@ -110,8 +113,9 @@ export const WorkflowProvider = ({ children }) => {
 
   const loadWorkflows = async () => {
     try {
-      const response = await workflowService.getWorkflows();
-      setWorkflows(response);
+      const page = await workflowService.getWorkflowsPage();
+      setWorkflows(page.items);
+      setWorkflowsCursor(page.nextCursor);
     } catch (error) {
       console.error('Error loading workflows:', error);
       addNotification({
@@ -124,8 +128,9 @@ export const WorkflowProvider = ({ children }) => {
 
   const loadTasks = async () => {
     try {
-      const response = await workflowService.getTasks();
-      setTasks(response);
+      const page = await workflowService.getTasksPage();
+      setTasks(page.items);
+      setTasksCursor(page.nextCursor);
     } catch (error) {
       console.error('Error loading tasks:', error);
       addNotification({
@@ -136,10 +141,42 @@ export const WorkflowProvider = ({ children }) => {
     }
   };
 
+  const loadMoreWorkflows = async () => {
+    if (!workflowsCursor) return;
+    try {
+      const page = await workflowService.getWorkflowsPage(workflowsCursor);
+      setWorkflows(prev => [...prev, ...page.items]);
+      setWorkflowsCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error loading more workflows:', error);
+      addNotification({
+        type: 'error',
+        message: 'Failed to load more workflows',
+        timestamp: Date.now()
+      });
+    }
+  };
+
+  const loadMoreTasks = async () => {
+    if (!tasksCursor) return;
+    try {
+      const page = await workflowService.getTasksPage(tasksCursor);
+      setTasks(prev => [...prev, ...page.items]);
+      setTasksCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error loading more tasks:', error);
+      addNotification({
+        type: 'error',
+        message: 'Failed to load more tasks',
+        timestamp: Date.now()
+      });
+    }
+  };
+
   const createWorkflow = async (workflowData) => {
     try {
       const response = await workflowService.createWorkflow(workflowData);
-      setWorkflows(prev => [...prev, response]);
+      setWorkflows(prev => [response, ...prev]); // Lists are newest first
       addNotification({
         type: 'success',
         message: 'Workflow created successfully',
@@ -238,8 +275,12 @@ export const WorkflowProvider = ({ children }) => {
     tasks,
     notifications,
     isConnected,
+    hasMoreWorkflows: workflowsCursor !== null,
+    hasMoreTasks: tasksCursor !== null,
     loadWorkflows,
     loadTasks,
+    loadMoreWorkflows,
+    loadMoreTasks,
     createWorkflow,
     updateWorkflow,
     deleteWorkflow,
@@ -9,6 +9,9 @@ function WorkflowsPage() {
   const [view, setView] = useState('list'); // 'list' or 'builder'
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  // Cursor of the next page, null once every workflow is loaded
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     loadWorkflows();
@@ -17,8 +20,9 @@ function WorkflowsPage() {
   const loadWorkflows = async () => {
     try {
       setLoading(true);
-      const response = await workflowService.getWorkflows();
-      setWorkflows(response);
+      const page = await workflowService.getWorkflowsPage();
+      setWorkflows(page.items);
+      setNextCursor(page.nextCursor);
       setError(null);
     } catch (err) {
       setError('Failed to load workflows');
@@ -28,6 +32,20 @@ function WorkflowsPage() {
     }
   };
 
+  const loadMoreWorkflows = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await workflowService.getWorkflowsPage(nextCursor);
+      setWorkflows((current) => [...current, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError('Failed to load more workflows');
+      console.error('Error loading more workflows:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleCreateWorkflow = () => {
     setSelectedWorkflow(null);
     setView('builder');
@@ -149,19 +167,34 @@ function WorkflowsPage() {
           </button>
         </div>
       ) : (
-        <div className="row">
-          {workflows.map((workflow) => (
-            <div key={workflow.id} className="col-md-6 col-lg-4 mb-4">
-              <WorkflowCard
-                workflow={workflow}
-                onEdit={handleEditWorkflow}
-                onExecute={handleExecuteWorkflow}
-                onToggle={handleToggleWorkflow}
-                onDelete={handleDeleteWorkflow}
-              />
+        <>
+          <div className="row">
+            {workflows.map((workflow) => (
+              <div key={workflow.id} className="col-md-6 col-lg-4 mb-4">
+                <WorkflowCard
+                  workflow={workflow}
+                  onEdit={handleEditWorkflow}
+                  onExecute={handleExecuteWorkflow}
+                  onToggle={handleToggleWorkflow}
+                  onDelete={handleDeleteWorkflow}
+                />
+              </div>
+            ))}
+          </div>
+
+          {nextCursor && (
+            <div className="text-center mb-4">
+              <button
+                className="btn btn-outline-secondary"
+                onClick={loadMoreWorkflows}
+                disabled={loadingMore}
+              >
+                <i className={`fas ${loadingMore ? 'fa-spinner fa-spin' : 'fa-chevron-down'} me-2`}></i>
+                Load More
+              </button>
             </div>
-          ))}
-        </div>
+          )}
+        </>
       )}
 
       {/* Webhook Information */}
@@ -125,9 +125,10 @@ export const authService = {
 
 // Workflow Service
 export const workflowApiService = {
-  getAll: async () => {
-    const response = await api.get('/workflows');
-    return response.data;
+  // Filters: active, from, to (ISO date-time); paging: cursor, limit, sort ('desc' | 'asc')
+  getPage: async (params = {}) => {
+    const response = await api.get('/workflows', { params });
+    return { items: response.data, nextCursor: response.headers['x-next-cursor'] || null };
   },
 
   getById: async (id) => {
@@ -167,9 +168,10 @@ export const workflowApiService = {
 
 // Task Service
 export const taskApiService = {
-  getAll: async () => {
-    const response = await api.get('/tasks');
-    return response.data;
+  // Filters: status, workflowId, from, to (ISO date-time); paging: cursor, limit, sort ('desc' | 'asc')
+  getPage: async (params = {}) => {
+    const response = await api.get('/tasks', { params });
+    return { items: response.data, nextCursor: response.headers['x-next-cursor'] || null };
   },
 
   getById: async (id) => {
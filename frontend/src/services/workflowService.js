@@ -1,10 +1,36 @@
 import { workflowApiService, taskApiService } from './api';
 
+// The server's maximum page size
+const FULL_LIST_PAGE_SIZE = 500;
+
+// Follows X-Next-Cursor through every page
+const collectPages = async (getPage, params = {}) => {
+  const items = [];
+  let cursor = null;
+  do {
+    const page = await getPage(cursor ? { ...params, cursor } : params);
+    items.push(...page.items);
+    cursor = page.nextCursor;
+  } while (cursor);
+  return items;
+};
+
 export const workflowService = {
   // Workflow methods
+  // One page, newest first: { items, nextCursor }; pass nextCursor back for the next page
+  getWorkflowsPage: async (cursor = null) => {
+    try {
+      return await workflowApiService.getPage(cursor ? { cursor } : {});
+    } catch (error) {
+      console.error('Error fetching workflows:', error);
+      throw new Error('Failed to fetch workflows');
+    }
+  },
+
+  // Every workflow; prefer getWorkflowsPage for lists
   getWorkflows: async () => {
     try {
-      return await workflowApiService.getAll();
+      return await collectPages(workflowApiService.getPage, { limit: FULL_LIST_PAGE_SIZE });
     } catch (error) {
       console.error('Error fetching workflows:', error);
       throw new Error('Failed to fetch workflows');
@@ -75,9 +101,23 @@ export const workflowService = {
   },
 
   // Task methods
+  // One page, newest first, optionally of one status: { items, nextCursor }
+  getTasksPage: async (cursor = null, status = null) => {
+    try {
+      const params = {};
+      if (cursor) params.cursor = cursor;
+      if (status) params.status = status;
+      return await taskApiService.getPage(params);
+    } catch (error) {
+      console.error('Error fetching tasks:', error);
+      throw new Error('Failed to fetch tasks');
+    }
+  },
+
+  // Every task; prefer getTasksPage for lists
   getTasks: async () => {
     try {
-      return await taskApiService.getAll();
+      return await collectPages(taskApiService.getPage, { limit: FULL_LIST_PAGE_SIZE });
     } catch (error) {
       console.error('Error fetching tasks:', error);
       throw new Error('Failed to fetch tasks');
@@ -124,8 +164,8 @@ export const workflowService = {
   getWorkflowStats: async () => {
     try {
       const [workflows, tasks] = await Promise.all([
-        workflowApiService.getAll(),
-        taskApiService.getAll()
+        collectPages(workflowApiService.getPage, { limit: FULL_LIST_PAGE_SIZE }),
+        collectPages(taskApiService.getPage, { limit: FULL_LIST_PAGE_SIZE })
       ]);
 
       const stats = {